@@ -0,0 +1,90 @@
+package com.example.demo.core.build;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step, run by the exec plugin at prepare-package against target/classes/static. Writes a {@code .gz}
+ * next to every text asset that compresses meaningfully, for the resource chain to serve to clients that
+ * accept gzip. Images are skipped because JPEG, PNG and WebP are already compressed.
+ */
+public final class StaticAssetCompressor {
+
+	private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "html", "json", "txt");
+	private static final double MAX_RATIO = 0.9;
+
+	private StaticAssetCompressor() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Usage: StaticAssetCompressor <static-dir>");
+		}
+		Path root = Paths.get(args[0]);
+		if (!Files.isDirectory(root)) {
+			System.out.println("No static assets at " + root);
+			return;
+		}
+		int written = compressAll(root);
+		System.out.println("Wrote " + written + " gzip variant(s) under " + root);
+	}
+
+	public static int compressAll(Path root) throws IOException {
+		List<Path> assets;
+		try (Stream<Path> files = Files.walk(root)) {
+			assets = files.filter(Files::isRegularFile).filter(StaticAssetCompressor::isCompressible).toList();
+		}
+		int written = 0;
+		for (Path asset : assets) {
+			if (compress(asset)) {
+				written++;
+			}
+		}
+		return written;
+	}
+
+	// Returns whether a variant was written. An up-to-date variant is left alone, and one that would save
+	// less than a tenth of the size is not worth the extra lookup, so any stale copy of it is removed.
+	static boolean compress(Path asset) throws IOException {
+		Path variant = asset.resolveSibling(asset.getFileName() + ".gz");
+		if (Files.exists(variant)
+				&& Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(asset)) >= 0) {
+			return false;
+		}
+		byte[] original = Files.readAllBytes(asset);
+		Path temp = asset.resolveSibling(asset.getFileName() + ".gz.tmp");
+		try (OutputStream out = new BestGzipOutputStream(Files.newOutputStream(temp))) {
+			out.write(original);
+		}
+		if (Files.size(temp) > original.length * MAX_RATIO) {
+			Files.delete(temp);
+			Files.deleteIfExists(variant);
+			return false;
+		}
+		Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+		return true;
+	}
+
+	private static boolean isCompressible(Path file) {
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		return dot > 0 && COMPRESSIBLE.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+	}
+
+	private static final class BestGzipOutputStream extends GZIPOutputStream {
+		private BestGzipOutputStream(OutputStream out) throws IOException {
+			super(out);
+			def.setLevel(Deflater.BEST_COMPRESSION);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.demo.core.build;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Build step, run by the exec plugin at prepare-package against target/classes/static/Images. Writes
+ * {@code name-240w.jpg} and {@code name-480w.jpg} next to every JPEG wider than those widths, so templates can
+ * offer them through srcset instead of sending multi-megapixel photos to 120px product cards. Only JPEG is
+ * resized: the PNGs here are small icons, and ImageIO has no WebP writer.
+ */
+public final class StaticImageResizer {
+
+	static final int[] WIDTHS = { 240, 480 };
+
+	private static final float QUALITY = 0.82f;
+	private static final Pattern VARIANT = Pattern.compile(".*-\\d+w\\.jpe?g");
+
+	private StaticImageResizer() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Usage: StaticImageResizer <images-dir>");
+		}
+		Path root = Paths.get(args[0]);
+		if (!Files.isDirectory(root)) {
+			System.out.println("No images at " + root);
+			return;
+		}
+		int written = resizeAll(root);
+		System.out.println("Wrote " + written + " resized variant(s) under " + root);
+	}
+
+	public static int resizeAll(Path root) throws IOException {
+		List<Path> images;
+		try (Stream<Path> files = Files.walk(root)) {
+			images = files.filter(Files::isRegularFile).filter(StaticImageResizer::isSource).toList();
+		}
+		int written = 0;
+		for (Path image : images) {
+			written += resize(image);
+		}
+		return written;
+	}
+
+	// photo.jpg at 240 becomes photo-240w.jpg; ResponsiveImages builds the same names at runtime.
+	static String variantName(String image, int width) {
+		int dot = image.lastIndexOf('.');
+		return image.substring(0, dot) + "-" + width + "w" + image.substring(dot);
+	}
+
+	// Returns how many variants were written. Up-to-date variants are left alone, and an image that cannot be
+	// decoded (CMYK JPEGs, for one) is skipped so a single odd file does not fail the package.
+	static int resize(Path image) throws IOException {
+		BufferedImage source = null;
+		int written = 0;
+		for (int width : WIDTHS) {
+			Path variant = image.resolveSibling(variantName(image.getFileName().toString(), width));
+			if (Files.exists(variant)
+					&& Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(image)) >= 0) {
+				continue;
+			}
+			if (source == null) {
+				try {
+					source = ImageIO.read(image.toFile());
+				} catch (IOException e) {
+					source = null;
+				}
+				if (source == null) {
+					System.out.println("Skipping unreadable image " + image);
+					return written;
+				}
+			}
+			if (source.getWidth() <= width) {
+				Files.deleteIfExists(variant);
+				continue;
+			}
+			Path temp = variant.resolveSibling(variant.getFileName() + ".tmp");
+			writeJpeg(scale(source, width), temp);
+			Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+			written++;
+		}
+		return written;
+	}
+
+	private static BufferedImage scale(BufferedImage source, int width) {
+		int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = scaled.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return scaled;
+	}
+
+	private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+		if (!writers.hasNext()) {
+			throw new IOException("No JPEG writer available");
+		}
+		ImageWriter writer = writers.next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(QUALITY);
+		Files.deleteIfExists(target);
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	private static boolean isSource(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		return (name.endsWith(".jpg") || name.endsWith(".jpeg")) && !VARIANT.matcher(name).matches();
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.demo.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (-rf json) and exits non-zero when any benchmark present in both got
+ * slower than the tolerance allows. Throughput scores regress downwards, time-per-operation scores upwards.
+ *
+ * Usage: BenchmarkRegressionCheck baseline.json current.json [tolerance, default 0.10]
+ */
+public final class BenchmarkRegressionCheck {
+
+	private BenchmarkRegressionCheck() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: BenchmarkRegressionCheck <baseline.json> <current.json> [tolerance]");
+			System.exit(2);
+		}
+		double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+		Map<String, JsonNode> baseline = load(new File(args[0]));
+		Map<String, JsonNode> current = load(new File(args[1]));
+
+		int regressions = 0;
+		for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			if (before == null) {
+				System.out.printf("NEW        %s%n", entry.getKey());
+				continue;
+			}
+			double oldScore = before.path("primaryMetric").path("score").asDouble();
+			double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+			boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+			double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore;
+			boolean regressed = higherIsBetter ? change < -tolerance : change > tolerance;
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("%-10s %s %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "OK", entry.getKey(),
+					oldScore, newScore, entry.getValue().path("primaryMetric").path("scoreUnit").asText(),
+					change * 100);
+		}
+		if (regressions > 0) {
+			System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+			System.exit(1);
+		}
+	}
+
+	private static Map<String, JsonNode> load(File file) throws IOException {
+		Map<String, JsonNode> results = new TreeMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(file)) {
+			StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+			key.append(" t=").append(result.path("threads").asInt());
+			toMap(result.path("params")).forEach((name, value) -> key.append(' ').append(name)
+					.append('=').append(value));
+			results.put(key.toString(), result);
+		}
+		return results;
+	}
+
+	private static Map<String, String> toMap(JsonNode params) {
+		Map<String, String> values = new TreeMap<>();
+		params.fields().forEachRemaining(field -> values.put(field.getKey(), field.getValue().asText()));
+		return values;
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Login-style lookups by email per second, opening a fresh connection per request versus borrowing one from
+ * Hikari. The gap is small on in-memory H2 and large against a networked MySQL, where each new connection
+ * costs a TCP and authentication handshake. Run with -t (jmh.threads) to add contention for the pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+	private static final int USERS = 10_000;
+	private static final String LOOKUP = "SELECT u_id, uemail, upassword FROM jmh_users WHERE uemail = ?";
+
+	@Param({ "unpooled", "hikari" })
+	public String connections;
+
+	@Param({ JdbcStandIn.H2_URL })
+	public String jdbcUrl;
+
+	@Param({ "sa" })
+	public String jdbcUser;
+
+	@Param({ "" })
+	public String jdbcPassword;
+
+	private HikariDataSource dataSource;
+
+	@Setup
+	public void setUp() throws SQLException {
+		dataSource = JdbcStandIn.pool(jdbcUrl, jdbcUser, jdbcPassword, 8);
+		try (Connection connection = dataSource.getConnection()) {
+			JdbcStandIn.createSchema(connection);
+			connection.setAutoCommit(false);
+			try (PreparedStatement insert = connection
+					.prepareStatement("INSERT INTO jmh_users (uname, uemail, upassword) VALUES (?, ?, ?)")) {
+				for (int i = 0; i < USERS; i++) {
+					insert.setString(1, "user" + i);
+					insert.setString(2, "user" + i + "@example.com");
+					insert.setString(3, "secret");
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+			connection.commit();
+			connection.setAutoCommit(true);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public int findUserByEmail() throws SQLException {
+		String email = "user" + ThreadLocalRandom.current().nextInt(USERS) + "@example.com";
+		try (Connection connection = connect(); PreparedStatement lookup = connection.prepareStatement(LOOKUP)) {
+			lookup.setString(1, email);
+			try (ResultSet rows = lookup.executeQuery()) {
+				return rows.next() ? rows.getInt(1) : -1;
+			}
+		}
+	}
+
+	private Connection connect() throws SQLException {
+		if (connections.equals("hikari")) {
+			return dataSource.getConnection();
+		}
+		return DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword);
+	}
+}
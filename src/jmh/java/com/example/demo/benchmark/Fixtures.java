@@ -0,0 +1,62 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.product.model.NutritionProfile;
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.user.model.User;
+
+/**
+ * Deterministic test data for the benchmarks, so runs on different releases measure the same inputs.
+ */
+public final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	public static User user(int id) {
+		User user = new User();
+		user.setU_id(id);
+		user.setUname("Bench User " + id);
+		user.setUemail("bench" + id + "@example.com");
+		user.setUnumber(5550100L + id);
+		return user;
+	}
+
+	// Lines are priced so the whole history sums to roughly cartTotal, keeping checkout under the sandbox limit.
+	public static List<Orders> orderHistory(User user, int length, double cartTotal) {
+		double linePrice = Math.max(0.01, Math.floor(cartTotal / length * 100) / 100);
+		List<Orders> orders = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			Orders order = new Orders();
+			order.setoName("Item " + i);
+			order.setoPrice(linePrice);
+			order.setoQuantity(1);
+			order.setUser(user);
+			orders.add(order);
+		}
+		return orders;
+	}
+
+	public static List<Product> catalog(int size, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		List<Product> products = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Product product = new Product();
+			product.setPname("Product " + i);
+			product.setPprice(1 + random.nextInt(40));
+			product.setDefaultServingSize(1 + random.nextInt(3));
+			product.setInitialStock(Integer.MAX_VALUE / 2);
+			if (random.nextInt(4) != 0) {
+				NutritionProfile profile = new NutritionProfile();
+				profile.setCaloriesPerServing(50 + random.nextInt(600));
+				product.setNutritionProfile(profile);
+			}
+			products.add(product);
+		}
+		return products;
+	}
+}
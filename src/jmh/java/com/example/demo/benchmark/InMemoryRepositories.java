@@ -0,0 +1,131 @@
+package com.example.demo.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.order.repository.OrderRepository;
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.repository.ProductRepository;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so benchmarks measure the services rather than
+ * Hibernate and H2. Only the methods the services call are implemented; anything else fails loudly.
+ */
+public final class InMemoryRepositories {
+
+	private InMemoryRepositories() {
+	}
+
+	public static OrderRepository orders(List<Orders> rows) {
+		Store<Orders> store = new Store<>(Orders::getoId, Orders::setoId, rows);
+		return proxy(OrderRepository.class, store, (method, args) -> {
+			if (method.getName().equals("findOrdersByUser")) {
+				List<Orders> result = new ArrayList<>();
+				for (Orders order : store.rows.values()) {
+					if (order.getUser() == args[0]) {
+						result.add(order);
+					}
+				}
+				return result;
+			}
+			return UNSUPPORTED;
+		});
+	}
+
+	public static ProductRepository products(List<Product> rows) {
+		Store<Product> store = new Store<>(Product::getPid, Product::setPid, rows);
+		return proxy(ProductRepository.class, store, (method, args) -> {
+			if (method.getName().equals("findByPname")) {
+				for (Product product : store.rows.values()) {
+					if (product.getPname() != null && product.getPname().equals(args[0])) {
+						return product;
+					}
+				}
+				return null;
+			}
+			return UNSUPPORTED;
+		});
+	}
+
+	private static final Object UNSUPPORTED = new Object();
+
+	private interface Finder {
+		Object find(Method method, Object[] args);
+	}
+
+	private static <R> R proxy(Class<R> type, Store<?> store, Finder finder) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "findAll":
+				if (method.getParameterCount() == 0) {
+					return new ArrayList<>(store.rows.values());
+				}
+				break;
+			case "findById":
+				return Optional.ofNullable(store.rows.get((Integer) args[0]));
+			case "existsById":
+				return store.rows.containsKey((Integer) args[0]);
+			case "save":
+				return store.save(args[0]);
+			case "deleteById":
+				store.rows.remove((Integer) args[0]);
+				return null;
+			case "count":
+				return (long) store.rows.size();
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "InMemory" + type.getSimpleName();
+			default:
+				break;
+			}
+			Object result = finder.find(method, args);
+			if (result == UNSUPPORTED) {
+				throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+			}
+			return result;
+		};
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+	private static final class Store<T> {
+		private final Map<Integer, T> rows = new ConcurrentSkipListMap<>();
+		private final AtomicInteger sequence = new AtomicInteger();
+		private final ToIntFunction<T> idOf;
+		private final ObjIntConsumer<T> assignId;
+
+		private Store(ToIntFunction<T> idOf, ObjIntConsumer<T> assignId, List<T> initial) {
+			this.idOf = idOf;
+			this.assignId = assignId;
+			for (T row : initial) {
+				save(row);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object save(Object entity) {
+			T row = (T) entity;
+			int id = idOf.applyAsInt(row);
+			if (id == 0) {
+				id = sequence.incrementAndGet();
+				assignId.accept(row, id);
+			} else {
+				sequence.accumulateAndGet(id, Math::max);
+			}
+			rows.put(id, row);
+			return row;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Product rows inserted per second. "row-by-row" is what IDENTITY keys force on Hibernate: one statement and
+ * one commit per entity. "batched" is what the sequence ids and hibernate.jdbc.batch_size allow: statements
+ * grouped 50 at a time inside one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcBatchingBenchmark {
+
+	private static final int ROWS = 500;
+	private static final int BATCH_SIZE = 50;
+	private static final String INSERT = "INSERT INTO jmh_product (pid, pname, pprice, pdescription, "
+			+ "default_serving_size, initial_stock, calories_per_serving) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	@Param({ "row-by-row", "batched" })
+	public String mode;
+
+	@Param({ JdbcStandIn.H2_URL })
+	public String jdbcUrl;
+
+	@Param({ "sa" })
+	public String jdbcUser;
+
+	@Param({ "" })
+	public String jdbcPassword;
+
+	private HikariDataSource dataSource;
+	private final AtomicInteger nextId = new AtomicInteger();
+
+	@Setup
+	public void setUp() throws SQLException {
+		dataSource = JdbcStandIn.pool(jdbcUrl, jdbcUser, jdbcPassword, 4);
+		try (Connection connection = dataSource.getConnection()) {
+			JdbcStandIn.createSchema(connection);
+		}
+	}
+
+	// Keeps the table small so later iterations do not measure a bigger index than earlier ones.
+	@Setup(Level.Iteration)
+	public void truncate() throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DELETE FROM jmh_product");
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public int insertProducts() throws SQLException {
+		int first = nextId.getAndAdd(ROWS);
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement insert = connection.prepareStatement(INSERT)) {
+			if (mode.equals("batched")) {
+				connection.setAutoCommit(false);
+				for (int i = 0; i < ROWS; i++) {
+					bind(insert, first + i);
+					insert.addBatch();
+					if ((i + 1) % BATCH_SIZE == 0) {
+						insert.executeBatch();
+					}
+				}
+				insert.executeBatch();
+				connection.commit();
+				connection.setAutoCommit(true);
+			} else {
+				for (int i = 0; i < ROWS; i++) {
+					bind(insert, first + i);
+					insert.executeUpdate();
+				}
+			}
+		}
+		return first;
+	}
+
+	private static void bind(PreparedStatement insert, int id) throws SQLException {
+		insert.setInt(1, id);
+		insert.setString(2, "Product " + id);
+		insert.setDouble(3, 1 + id % 50);
+		insert.setString(4, "Benchmark product " + id);
+		insert.setInt(5, 1);
+		insert.setInt(6, 100);
+		insert.setDouble(7, 100 + id % 400);
+	}
+}
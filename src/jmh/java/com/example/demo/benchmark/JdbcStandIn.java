@@ -0,0 +1,51 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Database setup shared by the JDBC benchmarks. The default URL is an in-memory H2 in MySQL mode so the
+ * benchmarks run anywhere; pass -p jdbcUrl=jdbc:mysql://... (with jdbcUser/jdbcPassword) to measure a real
+ * server. Against MySQL the pool gets the same driver settings as application-prod.properties.
+ */
+final class JdbcStandIn {
+
+	static final String H2_URL = "jdbc:h2:mem:jmh;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	private JdbcStandIn() {
+	}
+
+	static HikariDataSource pool(String url, String user, String password, int size) {
+		HikariConfig config = new HikariConfig();
+		config.setJdbcUrl(url);
+		config.setUsername(user);
+		config.setPassword(password);
+		config.setMaximumPoolSize(size);
+		config.setMinimumIdle(size);
+		if (url.startsWith("jdbc:mysql:")) {
+			config.addDataSourceProperty("cachePrepStmts", "true");
+			config.addDataSourceProperty("prepStmtCacheSize", "250");
+			config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+			config.addDataSourceProperty("useServerPrepStmts", "true");
+			config.addDataSourceProperty("rewriteBatchedStatements", "true");
+		}
+		return new HikariDataSource(config);
+	}
+
+	static void createSchema(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS jmh_product");
+			statement.execute("DROP TABLE IF EXISTS jmh_users");
+			statement.execute("CREATE TABLE jmh_product (pid INT NOT NULL, pname VARCHAR(255), pprice DOUBLE NOT NULL, "
+					+ "pdescription VARCHAR(255), default_serving_size INT NOT NULL, initial_stock INT NOT NULL, "
+					+ "calories_per_serving DOUBLE, PRIMARY KEY (pid))");
+			statement.execute("CREATE TABLE jmh_users (u_id INT NOT NULL AUTO_INCREMENT, uname VARCHAR(255), "
+					+ "uemail VARCHAR(255), upassword VARCHAR(255), PRIMARY KEY (u_id))");
+			statement.execute("CREATE UNIQUE INDEX idx_jmh_users_uemail ON jmh_users (uemail)");
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Time for one login lookup, the query UserRepository.findCredentialsByUemail issues, as the users table
+ * grows. With idx_users_uemail the lookup is a B-tree seek and should stay flat from a thousand to a million
+ * users; "none" drops the index to show the full scan it replaced growing with the table. Seeding a million
+ * rows takes a while, so narrow the run with e.g. -p index=uemail when only the indexed curve is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginLookupBenchmark {
+
+	private static final int SEED_BATCH = 1000;
+	private static final String LOOKUP = "SELECT u_id, uemail, upassword FROM jmh_users WHERE uemail = ?";
+
+	@Param({ "1000", "100000", "1000000" })
+	public int users;
+
+	@Param({ "uemail", "none" })
+	public String index;
+
+	@Param({ JdbcStandIn.H2_URL })
+	public String jdbcUrl;
+
+	@Param({ "sa" })
+	public String jdbcUser;
+
+	@Param({ "" })
+	public String jdbcPassword;
+
+	private HikariDataSource dataSource;
+
+	@Setup
+	public void setUp() throws SQLException {
+		dataSource = JdbcStandIn.pool(jdbcUrl, jdbcUser, jdbcPassword, 4);
+		try (Connection connection = dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE IF EXISTS jmh_users");
+				statement.execute("CREATE TABLE jmh_users (u_id INT NOT NULL AUTO_INCREMENT, uname VARCHAR(255), "
+						+ "uemail VARCHAR(255), upassword VARCHAR(255), PRIMARY KEY (u_id))");
+			}
+			seed(connection);
+			// Built after the load, as a migration adding it to an existing table would.
+			if (index.equals("uemail")) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("CREATE UNIQUE INDEX idx_jmh_users_uemail ON jmh_users (uemail)");
+				}
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS jmh_users");
+		}
+		dataSource.close();
+	}
+
+	@Benchmark
+	public int findCredentialsByEmail() throws SQLException {
+		String email = "user" + ThreadLocalRandom.current().nextInt(users) + "@example.com";
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement lookup = connection.prepareStatement(LOOKUP)) {
+			lookup.setString(1, email);
+			try (ResultSet rows = lookup.executeQuery()) {
+				return rows.next() ? rows.getInt(1) : -1;
+			}
+		}
+	}
+
+	private void seed(Connection connection) throws SQLException {
+		connection.setAutoCommit(false);
+		try (PreparedStatement insert = connection
+				.prepareStatement("INSERT INTO jmh_users (uname, uemail, upassword) VALUES (?, ?, ?)")) {
+			for (int i = 0; i < users; i++) {
+				insert.setString(1, "user" + i);
+				insert.setString(2, "user" + i + "@example.com");
+				insert.setString(3, "{bcrypt}$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmark");
+				insert.addBatch();
+				if ((i + 1) % SEED_BATCH == 0) {
+					insert.executeBatch();
+					connection.commit();
+				}
+			}
+			insert.executeBatch();
+			connection.commit();
+		}
+		connection.setAutoCommit(true);
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to serve a burst of {@code requests} concurrent checkout-shaped requests on Tomcat's default 200-thread
+ * worker pool versus one virtual thread per request (spring.threads.virtual.enabled). Each request holds a
+ * connection from a {@code dbPoolSize} pool for {@code dbMillis}, then waits {@code paymentMillis} on the
+ * payment processor without one. Below 200 concurrent requests the two modes should match; above it the
+ * platform pool queues requests while virtual threads keep them all waiting on I/O at once, until the
+ * connection pool becomes the limit. This is a model of the blocking, not an HTTP load test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutorBenchmark {
+
+	private static final int TOMCAT_MAX_THREADS = 200;
+
+	@Param({ "platform", "virtual" })
+	public String executor;
+
+	@Param({ "100", "1000", "5000" })
+	public int requests;
+
+	@Param({ "50" })
+	public int dbPoolSize;
+
+	@Param({ "2" })
+	public long dbMillis;
+
+	@Param({ "50" })
+	public long paymentMillis;
+
+	private ExecutorService requestExecutor;
+	private Semaphore connections;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		requestExecutor = executor.equals("virtual")
+				? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory())
+				: Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+		connections = new Semaphore(dbPoolSize, true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		requestExecutor.shutdownNow();
+	}
+
+	@Benchmark
+	public int serveBurst() throws InterruptedException, ExecutionException {
+		List<Future<Integer>> responses = new ArrayList<>(requests);
+		for (int i = 0; i < requests; i++) {
+			int request = i;
+			responses.add(requestExecutor.submit(() -> handle(request)));
+		}
+		int served = 0;
+		for (Future<Integer> response : responses) {
+			served += response.get();
+		}
+		return served;
+	}
+
+	private int handle(int request) throws InterruptedException {
+		connections.acquire();
+		try {
+			Thread.sleep(dbMillis);
+		} finally {
+			connections.release();
+		}
+		Thread.sleep(paymentMillis);
+		return request >= 0 ? 1 : 0;
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.demo.core.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Successful logins per second at each BCrypt cost, through the bounded hashing pool the login path uses.
+ * Run with -t (jmh.threads) above the pool size to see queueing; the queue is sized so no check is refused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+	@Param({ "8", "10", "12" })
+	public int cost;
+
+	@Param({ "0" })
+	public int poolThreads;
+
+	private PasswordHasher hasher;
+	private String stored;
+
+	@Setup
+	public void setUp() {
+		hasher = new PasswordHasher(new BCryptPasswordEncoder(cost), poolThreads, 1024, 60_000);
+		stored = hasher.hash("correct horse battery staple");
+	}
+
+	@TearDown
+	public void tearDown() {
+		hasher.destroy();
+	}
+
+	@Benchmark
+	public PasswordHasher.Verification login() {
+		return hasher.verify("correct horse battery staple", stored);
+	}
+}
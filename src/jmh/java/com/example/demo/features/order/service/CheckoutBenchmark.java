@@ -0,0 +1,58 @@
+package com.example.demo.features.order.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.benchmark.Fixtures;
+import com.example.demo.benchmark.InMemoryRepositories;
+import com.example.demo.features.user.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int historyLength;
+
+	private OrderCheckoutService checkoutService;
+	private SandboxPaymentGateway paymentGateway;
+	private User acceptedUser;
+
+	@Setup
+	public void setUp() {
+		acceptedUser = Fixtures.user(1);
+
+		OrderServices orderServices = new OrderServices();
+		ReflectionTestUtils.setField(orderServices, "orderRepository",
+				InMemoryRepositories.orders(Fixtures.orderHistory(acceptedUser, historyLength, 150.0)));
+		paymentGateway = new SandboxPaymentGateway();
+		checkoutService = new OrderCheckoutService(orderServices, paymentGateway, (user, amount) -> {
+		});
+	}
+
+	@Benchmark
+	public CheckoutResult checkout() {
+		return checkoutService.checkout(acceptedUser);
+	}
+
+	@Benchmark
+	public boolean chargeAccepted() {
+		return paymentGateway.charge(acceptedUser, 149.99);
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.demo.features.order.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.benchmark.Fixtures;
+import com.example.demo.benchmark.InMemoryRepositories;
+import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.user.model.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServicesBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int historyLength;
+
+	private OrderServices orderServices;
+	private User registeredUser;
+	private User guestUser;
+	private int lineToUpdate;
+	private int updates;
+
+	@Setup
+	public void setUp() {
+		registeredUser = Fixtures.user(1);
+		guestUser = Fixtures.user(0);
+		List<Orders> rows = new ArrayList<>(Fixtures.orderHistory(registeredUser, historyLength, 150.0));
+		rows.addAll(Fixtures.orderHistory(guestUser, historyLength, 150.0));
+
+		orderServices = new OrderServices();
+		ReflectionTestUtils.setField(orderServices, "orderRepository", InMemoryRepositories.orders(rows));
+		lineToUpdate = rows.get(0).getoId();
+		orderServices.calculateTotalForUser(registeredUser);
+	}
+
+	@Benchmark
+	public double runningTotal() {
+		return orderServices.calculateTotalForUser(registeredUser);
+	}
+
+	// A user without an id has no running total, so this is the full recomputation over the history.
+	@Benchmark
+	public double fullRecalculation() {
+		return orderServices.calculateTotalForUser(guestUser);
+	}
+
+	@Benchmark
+	public double updateLineThenTotal() {
+		Orders line = new Orders();
+		line.setoName("Item 0");
+		line.setoPrice(0.15);
+		line.setoQuantity(1 + (updates++ & 1));
+		line.setUser(registeredUser);
+		orderServices.updateOrder(lineToUpdate, line);
+		return orderServices.calculateTotalForUser(registeredUser);
+	}
+}
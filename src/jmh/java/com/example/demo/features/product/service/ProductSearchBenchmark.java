@@ -0,0 +1,66 @@
+package com.example.demo.features.product.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.benchmark.InMemoryRepositories;
+import com.example.demo.features.product.model.Product;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchBenchmark {
+
+	private static final String[] WORDS = { "chicken", "tikka", "masala", "paneer", "butter", "naan", "garlic",
+			"biryani", "lamb", "rogan", "josh", "dal", "makhani", "samosa", "veg", "spicy", "mild", "rice", "mango",
+			"lassi", "tandoori", "korma", "vindaloo", "aloo", "gobi", "chana", "palak", "fish", "prawn", "curry" };
+
+	@Param({ "1000", "100000" })
+	public int catalogSize;
+
+	@Param({ "chicken tikka", "chiken", "pan", "paneer butter masala" })
+	public String query;
+
+	private ProductSearchIndex index;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(11L);
+		List<Product> products = new ArrayList<>(catalogSize);
+		for (int i = 0; i < catalogSize; i++) {
+			Product product = new Product();
+			product.setPname(word(random) + " " + word(random) + " " + i);
+			product.setPdescription(word(random) + " with " + word(random) + " and " + word(random));
+			product.setPprice(1 + random.nextInt(40));
+			products.add(product);
+		}
+		index = new ProductSearchIndex(InMemoryRepositories.products(products));
+		index.rebuild();
+	}
+
+	@Benchmark
+	public List<ProductSearchResult> search() {
+		return index.search(query, 10);
+	}
+
+	private static String word(SplittableRandom random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+}
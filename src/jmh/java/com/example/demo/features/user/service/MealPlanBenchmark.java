@@ -0,0 +1,72 @@
+package com.example.demo.features.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.benchmark.Fixtures;
+import com.example.demo.benchmark.InMemoryRepositories;
+import com.example.demo.features.product.service.ProductServices;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MealPlanBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int catalogSize;
+
+	@Param({ "simple", "atomic" })
+	public String pantry;
+
+	@Param({ "direct", "cached" })
+	public String estimator;
+
+	private MealPlanService mealPlanService;
+	private List<MealPlanRequest> batch;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ProductServices productServices = new ProductServices();
+		ReflectionTestUtils.setField(productServices, "productRepository",
+				InMemoryRepositories.products(Fixtures.catalog(catalogSize, 42L)));
+		CalorieEstimator calorieEstimator = new NutritionBasedCalorieEstimator();
+		if (estimator.equals("cached")) {
+			calorieEstimator = new CachingCalorieEstimator(calorieEstimator);
+		}
+		PantryInventory inventory = pantry.equals("atomic") ? new AtomicPantryInventory() : new SimplePantryInventory();
+		mealPlanService = new MealPlanService(productServices, calorieEstimator, inventory);
+
+		batch = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			batch.add(new MealPlanRequest(1_500 + 100 * i, 2 + i % 3));
+		}
+	}
+
+	@Benchmark
+	public MealPlan generateWeeklyPlan() {
+		return mealPlanService.generateWeeklyPlan(2_000, 3);
+	}
+
+	@Benchmark
+	public List<MealPlanResult> generateWeeklyPlansBatch() {
+		return mealPlanService.generateWeeklyPlans(batch);
+	}
+}
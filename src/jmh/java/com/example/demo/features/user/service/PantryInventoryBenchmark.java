@@ -0,0 +1,82 @@
+package com.example.demo.features.user.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.benchmark.Fixtures;
+import com.example.demo.features.product.model.Product;
+
+/**
+ * Reservation throughput of the pantry implementations. Run with -t (jmh.threads) above one to measure
+ * contention; a single product makes every thread compete for the same item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PantryInventoryBenchmark {
+
+	@Param({ "simple", "atomic" })
+	public String pantry;
+
+	@Param({ "1", "1000" })
+	public int products;
+
+	private PantryInventory inventory;
+	private Product[] catalog;
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+	}
+
+	// Recreated per iteration so the hot item cannot run dry during a long measurement.
+	@Setup(Level.Iteration)
+	public void setUp() {
+		List<Product> generated = Fixtures.catalog(products, 7L);
+		catalog = new Product[generated.size()];
+		for (int i = 0; i < catalog.length; i++) {
+			catalog[i] = generated.get(i);
+			catalog[i].setPid(i + 1);
+		}
+		inventory = pantry.equals("atomic") ? new AtomicPantryInventory() : new SimplePantryInventory();
+	}
+
+	@Benchmark
+	public boolean tryReserve(Cursor cursor) {
+		return inventory.tryReserve(pick(cursor));
+	}
+
+	@Benchmark
+	public boolean checkThenReserve(Cursor cursor) {
+		Product product = pick(cursor);
+		if (!inventory.hasIngredients(product)) {
+			return false;
+		}
+		inventory.reserve(product);
+		return true;
+	}
+
+	private Product pick(Cursor cursor) {
+		int index = cursor.next++;
+		if (cursor.next == catalog.length) {
+			cursor.next = 0;
+		}
+		return catalog[index];
+	}
+}
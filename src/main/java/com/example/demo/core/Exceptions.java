@@ -1,9 +1,14 @@
 package com.example.demo.core;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.demo.core.security.PasswordHasherBusyException;
+
+import jakarta.servlet.http.HttpServletResponse;
+
 @ControllerAdvice
 public class Exceptions
 {
@@ -17,5 +22,14 @@ public class Exceptions
 		return "exception"; 
 	}
 
+	// Hashing is at capacity (sign-up, password changes); nothing failed, the request can be sent again.
+	@ExceptionHandler(value=PasswordHasherBusyException.class)
+	public String busyHandler(HttpServletResponse response)
+	{
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, PasswordHasherBusyException.RETRY_AFTER_SECONDS);
+		return "exception";
+	}
+
 
 }
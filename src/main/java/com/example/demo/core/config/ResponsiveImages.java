@@ -0,0 +1,78 @@
+package com.example.demo.core.config;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+/**
+ * srcset values for the resized JPEGs StaticImageResizer writes at package time, used from templates as
+ * {@code th:srcset="${@responsiveImages.srcset('/Images/a.jpg')}"}. Only variants that are actually on the
+ * classpath are listed, so a run straight from target/classes (no package step) falls back to the plain src
+ * instead of pointing the browser at missing files. Each URL is fingerprinted like the ones th:src produces.
+ */
+@Component("responsiveImages")
+public class ResponsiveImages {
+
+    static final int[] WIDTHS = { 240, 480 };
+    private static final String STATIC_LOCATION = "classpath:/static";
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+    private final String location;
+    private final Map<String, int[]> available = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponsiveImages(ResourceLoader resourceLoader, ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
+        this(resourceLoader, resourceUrlProvider, STATIC_LOCATION);
+    }
+
+    ResponsiveImages(ResourceLoader resourceLoader, ObjectProvider<ResourceUrlProvider> resourceUrlProvider,
+            String location) {
+        this.resourceLoader = resourceLoader;
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.location = location;
+    }
+
+    /** The srcset for {@code path}, or null (which drops the attribute) when no resized variant exists. */
+    public String srcset(String path) {
+        int[] widths = available.computeIfAbsent(path, this::findVariants);
+        if (widths.length == 0) {
+            return null;
+        }
+        ResourceUrlProvider urls = resourceUrlProvider.getIfAvailable();
+        String contextPath = contextPath();
+        return Arrays.stream(widths).mapToObj(width -> {
+            String lookupPath = variant(path, width);
+            String versioned = urls == null ? null : urls.getForLookupPath(lookupPath);
+            return contextPath + (versioned == null ? lookupPath : versioned) + " " + width + "w";
+        }).collect(Collectors.joining(", "));
+    }
+
+    static String variant(String path, int width) {
+        int dot = path.lastIndexOf('.');
+        return path.substring(0, dot) + "-" + width + "w" + path.substring(dot);
+    }
+
+    private int[] findVariants(String path) {
+        if (path.lastIndexOf('.') <= path.lastIndexOf('/')) {
+            return new int[0];
+        }
+        return Arrays.stream(WIDTHS)
+                .filter(width -> resourceLoader.getResource(location + variant(path, width)).exists())
+                .toArray();
+    }
+
+    private static String contextPath() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest().getContextPath() : "";
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.core.config;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Background checks such as RiskScoringEngine.reloadIfChanged run on Spring's single scheduler thread, so
+    // each task must stay short and must not block on other requests.
+}
@@ -0,0 +1,49 @@
+package com.example.demo.core.config;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cache headers for /static assets. A URL carrying the content hash of the file it names can never change
+ * meaning, so it is cached for a year and marked immutable. Any other asset URL must be revalidated, which
+ * costs a 304 from Last-Modified rather than a download. A hash that is not the current one (a page rendered
+ * by an older deploy) gets no long-lived header, so a 404 for it is never cached by a CDN.
+ */
+public class StaticAssetCacheInterceptor implements HandlerInterceptor {
+
+    private static final Pattern FINGERPRINT = Pattern.compile("-([0-9a-f]{32})(\\.[^./]+)$");
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+            .getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    public StaticAssetCacheInterceptor(ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
+        this.resourceUrlProvider = resourceUrlProvider;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String lookupPath = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher fingerprint = FINGERPRINT.matcher(lookupPath);
+        if (!fingerprint.find()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+            return true;
+        }
+        String unversioned = lookupPath.substring(0, fingerprint.start()) + fingerprint.group(2);
+        ResourceUrlProvider urls = resourceUrlProvider.getIfAvailable();
+        if (urls != null && lookupPath.equals(urls.getForLookupPath(unversioned))) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        }
+        return true;
+    }
+}
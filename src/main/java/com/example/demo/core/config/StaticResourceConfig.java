@@ -0,0 +1,24 @@
+package com.example.demo.core.config;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+    // Fingerprinting, the .gz variants and Accept-Encoding negotiation come from the resource chain set up in
+    // application.properties; this only decides how long browsers and CDNs may keep what it serves.
+    static final String[] ASSET_PATHS = { "/css/**", "/JavaScript/**", "/Images/**" };
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    public StaticResourceConfig(ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
+        this.resourceUrlProvider = resourceUrlProvider;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StaticAssetCacheInterceptor(resourceUrlProvider)).addPathPatterns(ASSET_PATHS);
+    }
+}
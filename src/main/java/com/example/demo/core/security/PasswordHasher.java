@@ -0,0 +1,141 @@
+package com.example.demo.core.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hashes and verifies passwords on a small fixed pool instead of the request thread. BCrypt is deliberately
+ * slow, so a burst of logins could otherwise occupy every servlet thread; here at most {@code threads}
+ * hashes run at once, {@code queueCapacity} more may wait, and anything beyond that is refused straight away
+ * with {@link PasswordHasherBusyException}.
+ * Rows stored before hashing was introduced are still accepted and reported as needing an upgrade, as are
+ * hashes made with a lower cost than the configured one.
+ *
+ * Verified passwords are intentionally not cached: anything that could answer "is this the password"
+ * without paying the BCrypt cost is an offline guessing oracle if the process memory leaks, which would undo
+ * the reason for raising the cost. Throughput is tuned with the cost and pool size instead.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+	private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+	public enum Verification {
+		MATCH, MATCH_NEEDS_UPGRADE, NO_MATCH
+	}
+
+	private final PasswordEncoder encoder;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+	private final String decoyHash;
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	@Autowired
+	public PasswordHasher(PasswordEncoder encoder,
+			@Value("${security.password.hash-threads:0}") int threads,
+			@Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+			@Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		}
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger counter = new AtomicInteger();
+		this.encoder = encoder;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutMillis = Math.max(timeoutMillis, 1);
+		this.decoyHash = encoder.encode("decoy-password");
+	}
+
+	public String hash(String rawPassword) {
+		return submit(() -> encoder.encode(rawPassword));
+	}
+
+	public boolean isHashed(String storedPassword) {
+		return storedPassword != null && BCRYPT.matcher(storedPassword).matches();
+	}
+
+	public Verification verify(String rawPassword, String storedPassword) {
+		if (rawPassword == null || storedPassword == null) {
+			return Verification.NO_MATCH;
+		}
+		if (!isHashed(storedPassword)) {
+			boolean matches = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+					storedPassword.getBytes(StandardCharsets.UTF_8));
+			return matches ? Verification.MATCH_NEEDS_UPGRADE : Verification.NO_MATCH;
+		}
+		boolean matches = submit(() -> encoder.matches(rawPassword, storedPassword));
+		if (!matches) {
+			return Verification.NO_MATCH;
+		}
+		return encoder.upgradeEncoding(storedPassword) ? Verification.MATCH_NEEDS_UPGRADE : Verification.MATCH;
+	}
+
+	// Spends the same work as a real check so a login for an unknown account takes as long as a wrong password.
+	public void verifyUnknownAccount(String rawPassword) {
+		if (rawPassword != null) {
+			submit(() -> encoder.matches(rawPassword, decoyHash));
+		}
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	public int getQueuedCount() {
+		return executor.getQueue().size();
+	}
+
+	private <T> T submit(Supplier<T> work) {
+		Future<T> future;
+		try {
+			future = executor.submit(work::get);
+		} catch (RejectedExecutionException e) {
+			rejected.incrementAndGet();
+			throw new PasswordHasherBusyException("Too many concurrent password checks", e);
+		}
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while checking password", e);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new PasswordHasherBusyException("Timed out checking password", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.demo.core.security;
+
+// The hashing pool refused or timed out the work. The password was never checked, so this is not a failed
+// login; the request can be repeated once the burst has passed.
+public class PasswordHasherBusyException extends IllegalStateException {
+
+	public static final String RETRY_AFTER_SECONDS = "1";
+
+	private static final long serialVersionUID = 1L;
+
+	public PasswordHasherBusyException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
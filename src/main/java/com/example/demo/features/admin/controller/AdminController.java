@@ -1,9 +1,24 @@
 package com.example.demo.features.admin.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,18 +26,27 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.example.demo.core.security.PasswordHasherBusyException;
 import com.example.demo.features.admin.dto.AdminLogin;
+import com.example.demo.features.admin.dto.DashboardPageLinks;
 import com.example.demo.features.admin.model.Admin;
 import com.example.demo.features.admin.service.AdminServices;
+import com.example.demo.features.order.dto.CartSubmission;
+import com.example.demo.features.order.dto.OrderHistoryPage;
 import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.order.service.OrderExportService;
 import com.example.demo.features.order.service.OrderServices;
 import com.example.demo.features.order.util.Logic;
 import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.service.ProductImportReport;
+import com.example.demo.features.product.service.ProductImportService;
 import com.example.demo.features.product.service.ProductServices;
 import com.example.demo.features.user.dto.UserLogin;
 import com.example.demo.features.user.model.User;
 import com.example.demo.features.user.service.UserServices;
+import com.example.demo.features.user.service.UserSession;
 
 @Controller
 public class AdminController {
@@ -34,15 +58,33 @@ public class AdminController {
 	private ProductServices productServices;	
 	@Autowired
 	private OrderServices orderServices;
+	@Autowired
+	private OrderExportService orderExportService;
+	@Autowired
+	private ProductImportService productImportService;
+
+	private static final int DASHBOARD_PAGE_SIZE = 20;
+	private static final int ORDER_HISTORY_PAGE_SIZE = 20;
+	private static final String LOGIN_BUSY_MESSAGE = "Too many sign-ins right now, please try again in a moment";
 
-	private String email;
-	private User user;
+	@Autowired
+	private UserSession userSession;
 	@PostMapping("/adminLogin")
-	public String  getAllData(  @ModelAttribute("adminLogin") AdminLogin login, Model model)
+	public String  getAllData(  @ModelAttribute("adminLogin") AdminLogin login, Model model, HttpServletResponse response)
 	{
 		String email=login.getEmail();
 		String password=login.getPassword();
-		if(adminServices.validateAdminCredentials(email, password))
+		boolean valid;
+		try
+		{
+			valid=adminServices.validateAdminCredentials(email, password);
+		}
+		catch(PasswordHasherBusyException e)
+		{
+			model.addAttribute("error", LOGIN_BUSY_MESSAGE);
+			return loginBusy(response);
+		}
+		if(valid)
 		{
 			return "redirect:/admin/services";
 		}
@@ -53,18 +95,38 @@ public class AdminController {
 
 	}
 
+	// The password was never checked, so the form is shown again with a 503 rather than "invalid password".
+	private String loginBusy(HttpServletResponse response)
+	{
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, PasswordHasherBusyException.RETRY_AFTER_SECONDS);
+		return "Login";
+	}
+
 	@PostMapping("/userLogin")
-	public String userLogin( @ModelAttribute("userLogin") UserLogin login,Model model)
+	public String userLogin( @ModelAttribute("userLogin") UserLogin login,Model model,HttpServletRequest request,
+			HttpServletResponse response)
 	{
 
-		email=login.getUserEmail();
+		String email=login.getUserEmail();
 		String password=login.getUserPassword();
-		if(services.validateLoginCredentials(email, password))
+		boolean valid;
+		try
+		{
+			valid=services.validateLoginCredentials(email, password);
+		}
+		catch(PasswordHasherBusyException e)
 		{
-			user = this.services.getUserByEmail(email);
-			List<Orders> orders = this.orderServices.getOrdersForUser(user);
-			model.addAttribute("orders", orders);
-			model.addAttribute("name", user.getUname());
+			model.addAttribute("error2", LOGIN_BUSY_MESSAGE);
+			return loginBusy(response);
+		}
+		if(valid)
+		{
+			request.getSession();
+			request.changeSessionId();
+			this.userSession.signIn(this.services.getUserByEmail(email));
+			addOrderHistory(model, null);
+			model.addAttribute("name", this.userSession.getName());
 			return "BuyProduct";
 		}
 		else
@@ -83,30 +145,57 @@ public class AdminController {
 		{
 			model.addAttribute("message", "SORRY...!  Product Unavailable");
 			model.addAttribute("product", product);
-			List<Orders> orders = this.orderServices.getOrdersForUser(user);
-			model.addAttribute("orders", orders);
+			addOrderHistory(model, null);
 			return "BuyProduct";
 		}
-		List<Orders> orders = this.orderServices.getOrdersForUser(user);
-		model.addAttribute("orders", orders);
+		addOrderHistory(model, null);
 		model.addAttribute("product", product);
 		return "BuyProduct";
 
 	} 
 	@GetMapping("/admin/services")
-	public String returnBack(Model model)
+	public String returnBack(Model model, HttpServletRequest request,
+			@Qualifier("users") @PageableDefault(size = DASHBOARD_PAGE_SIZE, sort = "uemail") Pageable usersPage,
+			@Qualifier("admins") @PageableDefault(size = DASHBOARD_PAGE_SIZE, sort = "adminId") Pageable adminsPage,
+			@Qualifier("products") @PageableDefault(size = DASHBOARD_PAGE_SIZE, sort = "pid") Pageable productsPage,
+			@Qualifier("orders") @PageableDefault(size = DASHBOARD_PAGE_SIZE, sort = "oId", direction = Sort.Direction.DESC) Pageable ordersPage)
 	{
-		List<User> users= this.services.getAllUser();
-		List<Admin>admins=this.adminServices.getAll(); 
-		List<Product>products=this.productServices.getAllProducts();
-		List<Orders> orders = this.orderServices.getOrders();
+		Page<User> users= this.services.getUsers(usersPage);
+		Page<Admin>admins=this.adminServices.getAdmins(adminsPage); 
+		Page<Product>products=this.productServices.getProducts(productsPage);
+		Page<Orders> orders = this.orderServices.getOrders(ordersPage);
 		model.addAttribute("users",users);
 		model.addAttribute("admins", admins);
 		model.addAttribute("products", products);
 		model.addAttribute("orders", orders);
+		model.addAttribute("pageLinks", DashboardPageLinks.of(request));
 
 		return "Admin_Page";
 	}
+
+	@GetMapping("/admin/orders/export")
+	public void exportOrders(HttpServletResponse response) throws IOException
+	{
+		response.setContentType("text/csv");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Content-Disposition", "attachment; filename=\"orders.csv\"");
+		this.orderExportService.writeCsv(response.getWriter());
+	}
+
+	@PostMapping(value = "/admin/products/import", consumes = "text/csv")
+	@ResponseBody
+	public ProductImportReport importProductsCsv(HttpServletRequest request) throws IOException
+	{
+		return this.productImportService.importCsv(
+				new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	@PostMapping(value = "/admin/products/import", consumes = "application/json")
+	@ResponseBody
+	public ProductImportReport importProductsJson(HttpServletRequest request) throws IOException
+	{
+		return this.productImportService.importJson(request.getInputStream());
+	}
 	@GetMapping("/addAdmin")
 	public String addAdminPage()
 	{
@@ -173,20 +262,81 @@ public class AdminController {
 	{
 		double  totalAmount = Logic.countTotal(order.getoPrice(),order.getoQuantity());
 		order.setTotalAmmout(totalAmount);
-		order.setUser(user);
+		order.setUser(this.userSession.getUser());
 		Date d=new Date();
 		order.setOrderDate(d);
 		this.orderServices.saveOrder(order);
+		this.userSession.ordersChanged();
 		model.addAttribute("amount",totalAmount);
 		return "Order_success";
 	}
 
+	@PostMapping("/product/cart")
+	public String cartHandler(@ModelAttribute("cart") CartSubmission cart,Model model)
+	{
+		List<Orders> placed;
+		try
+		{
+			placed = this.orderServices.placeOrders(this.userSession.getUser(), cart.getLines());
+		}
+		catch (IllegalArgumentException e)
+		{
+			model.addAttribute("message", e.getMessage());
+			addOrderHistory(model, null);
+			return "BuyProduct";
+		}
+		this.userSession.ordersChanged();
+		BigDecimal amount = BigDecimal.ZERO;
+		for (Orders order : placed)
+		{
+			amount = amount.add(BigDecimal.valueOf(order.getTotalAmmout()));
+		}
+		model.addAttribute("amount",amount.doubleValue());
+		return "Order_success";
+	}
+
 	@GetMapping("/product/back")
-	public String back(Model model)
+	public String back(@RequestParam(name = "cursor", required = false) String cursor,Model model)
 	{
-		List<Orders> orders = this.orderServices.getOrdersForUser(user);
-		model.addAttribute("orders", orders);
+		try
+		{
+			addOrderHistory(model, cursor);
+		}
+		catch (IllegalArgumentException e)
+		{
+			addOrderHistory(model, null);
+		}
 		return "BuyProduct";
 	}
 
+	@GetMapping("/api/orders/history")
+	@ResponseBody
+	public ResponseEntity<OrderHistoryPage> orderHistory(@RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "size", defaultValue = "20") int size)
+	{
+		if (!this.userSession.isSignedIn())
+		{
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		try
+		{
+			return ResponseEntity.ok(this.orderServices.getOrderHistory(this.userSession.getUser(), cursor, size));
+		}
+		catch (IllegalArgumentException e)
+		{
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	private void addOrderHistory(Model model, String cursor)
+	{
+		User user = this.userSession.getUser();
+		OrderHistoryPage history = cursor == null
+				? this.userSession.getRecentOrders(
+						() -> this.orderServices.getOrderHistory(user, null, ORDER_HISTORY_PAGE_SIZE))
+				: this.orderServices.getOrderHistory(user, cursor, ORDER_HISTORY_PAGE_SIZE);
+		model.addAttribute("orders", history.getEntries());
+		model.addAttribute("nextCursor", history.getNextCursor());
+	}
+
 }
@@ -0,0 +1,27 @@
+package com.example.demo.features.admin.dto;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Pager links for the admin dashboard. Each link is the current URL with one table's page number replaced,
+// so the other tables' page, size and sort parameters carry over unchanged.
+public class DashboardPageLinks 
+{
+
+	private final UriComponentsBuilder current;
+
+	public DashboardPageLinks(String requestUri, String queryString) {
+		this.current = UriComponentsBuilder.fromPath(requestUri).query(queryString);
+	}
+
+	public static DashboardPageLinks of(HttpServletRequest request) {
+		return new DashboardPageLinks(request.getRequestURI(), request.getQueryString());
+	}
+
+	// section is the pageable qualifier: admins, users, products or orders.
+	public String page(String section, int page) {
+		return current.cloneBuilder().replaceQueryParam(section + "_page", page).build().toUriString();
+	}
+
+}
@@ -2,10 +2,11 @@ package com.example.demo.features.admin.repository;
 
 
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import com.example.demo.features.admin.model.Admin;
 
-public interface AdminRepository extends CrudRepository<Admin, Integer>
+public interface AdminRepository extends CrudRepository<Admin, Integer>, PagingAndSortingRepository<Admin, Integer>
 {
 	public Admin findByAdminEmail(String email);
 }
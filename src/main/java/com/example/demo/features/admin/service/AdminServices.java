@@ -4,8 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import com.example.demo.core.security.PasswordHasher;
+import com.example.demo.core.security.PasswordHasher.Verification;
+import com.example.demo.core.security.PasswordHasherBusyException;
 import com.example.demo.features.admin.model.Admin;
 import com.example.demo.features.admin.repository.AdminRepository;
 
@@ -14,6 +19,9 @@ public class AdminServices
 {
 	@Autowired
 	private AdminRepository adminRepository;
+
+	@Autowired
+	private PasswordHasher passwordHasher;
 	
 
 	public List<Admin>getAll()
@@ -22,6 +30,11 @@ public class AdminServices
 		 return admins;
 	}
 
+	public Page<Admin> getAdmins(Pageable pageable)
+	{
+		return this.adminRepository.findAll(pageable);
+	}
+
 	public Admin getAdmin(int id)
 	{
 		Optional<Admin> optional = this.adminRepository.findById(id);
@@ -35,6 +48,7 @@ public class AdminServices
 		{
 			if(ad.getAdminId()==id)
 			{
+				hashPassword(admin);
 				this.adminRepository.save(admin);
 			}
 		}
@@ -47,16 +61,40 @@ public class AdminServices
 
 	public void addAdmin(Admin admin)
 	{
+		hashPassword(admin);
 		this.adminRepository.save(admin);
 	}
 
 	public boolean validateAdminCredentials(String email,String password)
 	{
 		Admin admin=adminRepository.findByAdminEmail(email);
-		if(admin!=null && admin.getAdminPassword().equals(password))
+		if(admin==null)
+		{
+			this.passwordHasher.verifyUnknownAccount(password);
+			return false;
+		}
+		Verification verification = this.passwordHasher.verify(password, admin.getAdminPassword());
+		if(verification==Verification.MATCH_NEEDS_UPGRADE)
+		{
+			try
+			{
+				admin.setAdminPassword(this.passwordHasher.hash(password));
+				this.adminRepository.save(admin);
+			}
+			catch(PasswordHasherBusyException e)
+			{
+				// The password already matched; the upgrade is tried again on the next login.
+			}
+		}
+		return verification!=Verification.NO_MATCH;
+	}
+
+	private void hashPassword(Admin admin)
+	{
+		String password = admin.getAdminPassword();
+		if(password!=null && !this.passwordHasher.isHashed(password))
 		{
-			return true;
+			admin.setAdminPassword(this.passwordHasher.hash(password));
 		}
-		return false;
 	}
 }
@@ -0,0 +1,26 @@
+package com.example.demo.features.order.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.demo.features.order.model.Orders;
+
+public class CartSubmission 
+{
+
+	private List<Orders> lines = new ArrayList<>();
+
+	public List<Orders> getLines() {
+		return lines;
+	}
+
+	public void setLines(List<Orders> lines) {
+		this.lines = lines;
+	}
+
+	@Override
+	public String toString() {
+		return "CartSubmission [lines=" + lines + "]";
+	}
+
+}
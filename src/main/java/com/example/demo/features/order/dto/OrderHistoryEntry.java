@@ -0,0 +1,55 @@
+package com.example.demo.features.order.dto;
+
+import java.util.Date;
+
+// Getter names mirror Orders so the BuyProduct template renders either type.
+public class OrderHistoryEntry 
+{
+
+	private final int oId;
+	private final String oName;
+	private final double oPrice;
+	private final int oQuantity;
+	private final double totalAmmout;
+	private final Date orderDate;
+
+	public OrderHistoryEntry(int oId, String oName, double oPrice, int oQuantity, double totalAmmout, Date orderDate) {
+		this.oId = oId;
+		this.oName = oName;
+		this.oPrice = oPrice;
+		this.oQuantity = oQuantity;
+		this.totalAmmout = totalAmmout;
+		this.orderDate = orderDate;
+	}
+
+	public int getoId() {
+		return oId;
+	}
+
+	public String getoName() {
+		return oName;
+	}
+
+	public double getoPrice() {
+		return oPrice;
+	}
+
+	public int getoQuantity() {
+		return oQuantity;
+	}
+
+	public double getTotalAmmout() {
+		return totalAmmout;
+	}
+
+	public Date getOrderDate() {
+		return orderDate;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderHistoryEntry [oId=" + oId + ", oName=" + oName + ", oPrice=" + oPrice + ", oQuantity="
+				+ oQuantity + ", totalAmmout=" + totalAmmout + ", orderDate=" + orderDate + "]";
+	}
+
+}
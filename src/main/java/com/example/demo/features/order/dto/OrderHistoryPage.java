@@ -0,0 +1,29 @@
+package com.example.demo.features.order.dto;
+
+import java.util.List;
+
+public class OrderHistoryPage 
+{
+
+	private final List<OrderHistoryEntry> entries;
+	private final String nextCursor;
+
+	public OrderHistoryPage(List<OrderHistoryEntry> entries, String nextCursor) {
+		this.entries = entries;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<OrderHistoryEntry> getEntries() {
+		return entries;
+	}
+
+	// Null on the last page.
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return nextCursor != null;
+	}
+
+}
@@ -2,10 +2,13 @@ package com.example.demo.features.order.model;
 
 import java.util.Date;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -13,7 +16,7 @@ import jakarta.persistence.Table;
 import com.example.demo.features.user.model.User;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_date", columnList = "user_u_id, orderDate, oId"))
 public class Orders
 {
 	@Id
@@ -22,10 +25,11 @@ public class Orders
 	private String oName;
 	private double oPrice;
 	private int oQuantity;
+	@Column(nullable = false)
 	private Date orderDate;
 	private double totalAmmout;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name="user_u_id")
 	private User user;
 
@@ -91,7 +95,7 @@ public class Orders
 	@Override
 	public String toString() {
 		return "Orders [oId=" + oId + ", oName=" + oName + ", oPrice=" + oPrice + ", oQuantity=" + oQuantity
-				+ ", orderDate=" + orderDate + ", totalAmmout=" + totalAmmout + ", user=" + user + "]";
+				+ ", orderDate=" + orderDate + ", totalAmmout=" + totalAmmout + ", user=" + (user != null ? user.getU_id() : null) + "]";
 	}
 
 
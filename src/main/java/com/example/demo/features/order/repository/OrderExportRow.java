@@ -0,0 +1,15 @@
+package com.example.demo.features.order.repository;
+
+import java.util.Date;
+
+public interface OrderExportRow
+{
+	int getId();
+	String getName();
+	double getPrice();
+	int getQuantity();
+	double getTotal();
+	Date getOrderDate();
+	String getUserName();
+	String getUserEmail();
+}
@@ -1,13 +1,49 @@
 package com.example.demo.features.order.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.demo.features.order.dto.OrderHistoryEntry;
 import com.example.demo.features.order.model.Orders;
 import com.example.demo.features.user.model.User;
 
 public interface OrderRepository extends JpaRepository<Orders, Integer>
 {
 	List<Orders> findOrdersByUser(User user);
+
+	// Keyset pages over idx_orders_user_date: newest first, (orderDate, oId) of the last row seen is the cursor.
+	// The Pageable only supplies the row limit; ordering is fixed by the query.
+	@Query("select new com.example.demo.features.order.dto.OrderHistoryEntry(o.oId, o.oName, o.oPrice, o.oQuantity, "
+			+ "o.totalAmmout, o.orderDate) from Orders o where o.user.u_id = :userId "
+			+ "order by o.orderDate desc, o.oId desc")
+	List<OrderHistoryEntry> findHistory(@Param("userId") int userId, Pageable limit);
+
+	@Query("select new com.example.demo.features.order.dto.OrderHistoryEntry(o.oId, o.oName, o.oPrice, o.oQuantity, "
+			+ "o.totalAmmout, o.orderDate) from Orders o where o.user.u_id = :userId "
+			+ "and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.oId < :oId)) "
+			+ "order by o.orderDate desc, o.oId desc")
+	List<OrderHistoryEntry> findHistoryBefore(@Param("userId") int userId, @Param("orderDate") Date orderDate,
+			@Param("oId") int oId, Pageable limit);
+
+	@Override
+	@EntityGraph(attributePaths = "user")
+	Page<Orders> findAll(Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+			@QueryHint(name = "org.hibernate.readOnly", value = "true") })
+	@Query("select o.oId as id, o.oName as name, o.oPrice as price, o.oQuantity as quantity, o.totalAmmout as total, "
+			+ "o.orderDate as orderDate, u.uname as userName, u.uemail as userEmail "
+			+ "from Orders o left join o.user u order by o.oId")
+	Stream<OrderExportRow> streamAllForExport();
 }
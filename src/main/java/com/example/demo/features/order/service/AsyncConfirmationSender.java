@@ -0,0 +1,234 @@
+package com.example.demo.features.order.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.user.model.User;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Component
+@Primary
+public class AsyncConfirmationSender implements ConfirmationSender, DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(AsyncConfirmationSender.class);
+
+	private final ConfirmationSender delegate;
+	private final BlockingQueue<PendingConfirmation> queue;
+	private final int batchSize;
+	private final long flushIntervalMillis;
+	private final long offerTimeoutMillis;
+	private final long shutdownTimeoutMillis;
+	private final Thread worker;
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong blocked = new AtomicLong();
+
+	private volatile boolean running = true;
+
+	@Autowired
+	public AsyncConfirmationSender(LoggingConfirmationSender delegate,
+			@Value("${confirmation.async.queue-capacity:1000}") int queueCapacity,
+			@Value("${confirmation.async.batch-size:50}") int batchSize,
+			@Value("${confirmation.async.flush-interval-ms:200}") long flushIntervalMillis,
+			@Value("${confirmation.async.offer-timeout-ms:5}") long offerTimeoutMillis,
+			@Value("${confirmation.async.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis,
+			MeterRegistry registry) {
+		this((ConfirmationSender) delegate, queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis,
+				shutdownTimeoutMillis, registry);
+	}
+
+	public AsyncConfirmationSender(ConfirmationSender delegate, int queueCapacity, int batchSize,
+			long flushIntervalMillis, long offerTimeoutMillis, long shutdownTimeoutMillis) {
+		this(delegate, queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis, shutdownTimeoutMillis,
+				new SimpleMeterRegistry());
+	}
+
+	public AsyncConfirmationSender(ConfirmationSender delegate, int queueCapacity, int batchSize,
+			long flushIntervalMillis, long offerTimeoutMillis, long shutdownTimeoutMillis, MeterRegistry registry) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		}
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.delegate = delegate;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushIntervalMillis = Math.max(flushIntervalMillis, 1);
+		this.offerTimeoutMillis = Math.max(offerTimeoutMillis, 0);
+		this.shutdownTimeoutMillis = Math.max(shutdownTimeoutMillis, 0);
+		confirmationCounter(registry, "submitted", submitted);
+		confirmationCounter(registry, "delivered", delivered);
+		confirmationCounter(registry, "dropped", dropped);
+		confirmationCounter(registry, "failed", failed);
+		FunctionCounter.builder("confirmation.sender.blocked", blocked, AtomicLong::get)
+				.description("Confirmations that found the queue full and had to wait for room")
+				.register(registry);
+		Gauge.builder("confirmation.sender.queue.depth", queue, BlockingQueue::size)
+				.description("Confirmations waiting to be delivered")
+				.register(registry);
+		this.worker = new Thread(this::drainLoop, "confirmation-sender");
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	@Override
+	public void sendConfirmation(User user, double amount) {
+		if (!running) {
+			dropped.incrementAndGet();
+			log.warn("Dropped confirmation for amount {}: sender is shutting down", amount);
+			return;
+		}
+		PendingConfirmation confirmation = new PendingConfirmation(user, amount);
+		if (queue.offer(confirmation)) {
+			accepted(confirmation);
+			return;
+		}
+
+		blocked.incrementAndGet();
+		try {
+			if (queue.offer(confirmation, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				accepted(confirmation);
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		dropped.incrementAndGet();
+		log.warn("Dropped confirmation for amount {}: queue is full", amount);
+	}
+
+	// Shutdown may have started between the running check and the offer, and the worker's last look at the
+	// queue may already be behind it. If the confirmation is still queued it is taken back and counted as
+	// dropped; if the worker got to it first it will be delivered.
+	private void accepted(PendingConfirmation confirmation) {
+		if (!running && queue.remove(confirmation)) {
+			dropped.incrementAndGet();
+			log.warn("Dropped confirmation for amount {}: sender is shutting down", confirmation.amount);
+			return;
+		}
+		submitted.incrementAndGet();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		worker.join(shutdownTimeoutMillis);
+		if (worker.isAlive()) {
+			worker.interrupt();
+			List<PendingConfirmation> left = new ArrayList<>();
+			queue.drainTo(left);
+			dropped.addAndGet(left.size());
+			log.warn("Confirmation sender did not drain within {} ms, {} confirmations dropped", shutdownTimeoutMillis,
+					left.size());
+		}
+	}
+
+	public long getSubmittedCount() {
+		return submitted.get();
+	}
+
+	public long getDeliveredCount() {
+		return delivered.get();
+	}
+
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	public long getBlockedCount() {
+		return blocked.get();
+	}
+
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	private void drainLoop() {
+		List<PendingConfirmation> batch = new ArrayList<>(batchSize);
+		try {
+			while (running || !queue.isEmpty()) {
+				collectBatch(batch);
+				deliver(batch);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			// Interrupted by destroy after the shutdown timeout; what was collected but not delivered is lost.
+			dropped.addAndGet(batch.size());
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void collectBatch(List<PendingConfirmation> batch) throws InterruptedException {
+		PendingConfirmation first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		while (batch.size() < batchSize) {
+			queue.drainTo(batch, batchSize - batch.size());
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() >= batchSize || remaining <= 0 || !running) {
+				return;
+			}
+			PendingConfirmation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void deliver(List<PendingConfirmation> batch) {
+		for (PendingConfirmation confirmation : batch) {
+			try {
+				delegate.sendConfirmation(confirmation.user, confirmation.amount);
+				delivered.incrementAndGet();
+			} catch (RuntimeException e) {
+				failed.incrementAndGet();
+				log.error("Confirmation delivery failed for amount {}", confirmation.amount, e);
+			}
+		}
+	}
+
+	private static void confirmationCounter(MeterRegistry registry, String outcome, AtomicLong count) {
+		FunctionCounter.builder("confirmation.sender.confirmations", count, AtomicLong::get)
+				.description("Confirmations by outcome; submitted ones end up delivered or failed")
+				.tag("outcome", outcome)
+				.register(registry);
+	}
+
+	private static final class PendingConfirmation {
+		private final User user;
+		private final double amount;
+
+		private PendingConfirmation(User user, double amount) {
+			this.user = user;
+			this.amount = amount;
+		}
+	}
+}
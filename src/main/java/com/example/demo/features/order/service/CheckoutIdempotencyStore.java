@@ -0,0 +1,167 @@
+package com.example.demo.features.order.service;
+
+import java.time.Clock;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers checkout results per (user, idempotency key). The first caller for a key runs the checkout;
+ * callers arriving while it is in flight wait on the same future instead of charging again. Entries expire
+ * after a fixed TTL and the store holds at most maxEntries keys. Because every entry has the same TTL,
+ * insertion order is expiry order, so expired and overflow entries are always taken from the queue head.
+ * An entry whose checkout is still running is never evicted or replaced, even past its TTL or capacity, since
+ * dropping it would let a duplicate charge again; the store may briefly exceed maxEntries by the number of
+ * checkouts in flight. Duplicates wait at most awaitTimeoutMillis for the first attempt, which should cover the
+ * payment deadline, and then fail as unavailable rather than run. A checkout that throws is forgotten so the
+ * client can retry with the same key.
+ */
+@Component
+public class CheckoutIdempotencyStore {
+
+	static final long DEFAULT_TTL_MS = 600_000;
+	static final int DEFAULT_MAX_ENTRIES = 10_000;
+	static final long DEFAULT_AWAIT_TIMEOUT_MS = 5_000;
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final long ttlMillis;
+	private final int maxEntries;
+	private final long awaitTimeoutMillis;
+	private final Clock clock;
+
+	@Autowired
+	public CheckoutIdempotencyStore(@Value("${checkout.idempotency.ttl-ms:" + DEFAULT_TTL_MS + "}") long ttlMillis,
+			@Value("${checkout.idempotency.max-entries:" + DEFAULT_MAX_ENTRIES + "}") int maxEntries,
+			@Value("${checkout.idempotency.await-timeout-ms:" + DEFAULT_AWAIT_TIMEOUT_MS + "}") long awaitTimeoutMillis) {
+		this(ttlMillis, maxEntries, awaitTimeoutMillis, Clock.systemUTC());
+	}
+
+	// The store the bean gets when no checkout.idempotency.* properties are set.
+	public static CheckoutIdempotencyStore defaults() {
+		return new CheckoutIdempotencyStore(DEFAULT_TTL_MS, DEFAULT_MAX_ENTRIES, DEFAULT_AWAIT_TIMEOUT_MS,
+				Clock.systemUTC());
+	}
+
+	public CheckoutIdempotencyStore(long ttlMillis, int maxEntries, Clock clock) {
+		this(ttlMillis, maxEntries, DEFAULT_AWAIT_TIMEOUT_MS, clock);
+	}
+
+	public CheckoutIdempotencyStore(long ttlMillis, int maxEntries, long awaitTimeoutMillis, Clock clock) {
+		if (ttlMillis <= 0) {
+			throw new IllegalArgumentException("TTL must be positive");
+		}
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Maximum entries must be positive");
+		}
+		this.ttlMillis = ttlMillis;
+		this.maxEntries = maxEntries;
+		this.awaitTimeoutMillis = Math.max(awaitTimeoutMillis, 0);
+		this.clock = clock;
+	}
+
+	// Returns the stored result for the key, or runs the checkout once and stores its result. The flag in
+	// the returned Outcome tells whether this call reused an earlier result.
+	Outcome execute(String key, Supplier<CheckoutResult> checkout) {
+		long now = clock.millis();
+		Entry created = new Entry(key, now + ttlMillis);
+		while (true) {
+			Entry existing = entries.putIfAbsent(key, created);
+			if (existing == null) {
+				insertionOrder.add(created);
+				queued.incrementAndGet();
+				evict(now);
+				return new Outcome(run(created, checkout), false);
+			}
+			if (existing.expiresAt > now || !existing.result.isDone()) {
+				return new Outcome(await(existing.result), true);
+			}
+			entries.remove(key, existing);
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private CheckoutResult run(Entry entry, Supplier<CheckoutResult> checkout) {
+		try {
+			CheckoutResult result = checkout.get();
+			entry.result.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			entries.remove(entry.key, entry);
+			entry.result.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private CheckoutResult await(CompletableFuture<CheckoutResult> result) {
+		try {
+			return result.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new PaymentUnavailableException("A checkout with this key is still in progress", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PaymentUnavailableException("Interrupted waiting for a checkout with this key", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new CompletionException(e.getCause());
+		}
+	}
+
+	// Stops at the first live entry that is still running: everything behind it is newer, and it will be
+	// evictable once its checkout completes.
+	private void evict(long now) {
+		Entry head;
+		while ((head = insertionOrder.peek()) != null) {
+			boolean superseded = entries.get(head.key) != head;
+			if (!superseded && (!head.result.isDone() || (head.expiresAt > now && queued.get() <= maxEntries))) {
+				return;
+			}
+			if (insertionOrder.remove(head)) {
+				queued.decrementAndGet();
+				entries.remove(head.key, head);
+			}
+		}
+	}
+
+	static final class Outcome {
+		final CheckoutResult result;
+		final boolean replayed;
+
+		private Outcome(CheckoutResult result, boolean replayed) {
+			this.result = result;
+			this.replayed = replayed;
+		}
+	}
+
+	private static final class Entry {
+		private final String key;
+		private final long expiresAt;
+		private final CompletableFuture<CheckoutResult> result = new CompletableFuture<>();
+
+		private Entry(String key, long expiresAt) {
+			this.key = key;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.demo.features.order.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Meters for OrderCheckoutService. Every meter is registered up front, so recording on the checkout path is
+ * a clock read plus an update to an existing meter, with no registry lookups or tag allocation.
+ */
+@Component
+public class CheckoutMetrics {
+
+	private final Clock clock;
+
+	private final Timer checkoutTimer;
+	private final Timer cartTotalTimer;
+	private final Timer paymentTimer;
+	private final Timer confirmationTimer;
+	private final DistributionSummary cartTotal;
+	private final DistributionSummary cartLines;
+
+	private final Counter succeeded;
+	private final Counter missingUser;
+	private final Counter emptyCart;
+	private final Counter paymentDeclined;
+	private final Counter errors;
+	private final Counter replays;
+
+	@Autowired
+	public CheckoutMetrics(MeterRegistry registry) {
+		this.clock = registry.config().clock();
+		this.checkoutTimer = Timer.builder("checkout.duration")
+				.description("Time spent in OrderCheckoutService.checkout")
+				.publishPercentileHistogram()
+				.register(registry);
+		this.cartTotalTimer = stageTimer(registry, "cart_total");
+		this.paymentTimer = stageTimer(registry, "payment");
+		this.confirmationTimer = stageTimer(registry, "confirmation");
+		this.cartTotal = DistributionSummary.builder("checkout.cart.total")
+				.description("Cart totals presented for payment")
+				.publishPercentileHistogram()
+				.minimumExpectedValue(1.0)
+				.maximumExpectedValue(OrderServices.MAX_ORDER_TOTAL.doubleValue())
+				.register(registry);
+		this.cartLines = DistributionSummary.builder("checkout.cart.lines")
+				.description("Order lines per cart placed")
+				.baseUnit("lines")
+				.publishPercentileHistogram()
+				.minimumExpectedValue(1.0)
+				.maximumExpectedValue(100.0)
+				.register(registry);
+		this.succeeded = resultCounter(registry, "success");
+		this.missingUser = resultCounter(registry, "missing_user");
+		this.emptyCart = resultCounter(registry, "empty_cart");
+		this.paymentDeclined = resultCounter(registry, "payment_declined");
+		this.errors = resultCounter(registry, "error");
+		this.replays = Counter.builder("checkout.idempotent.replays")
+				.description("Checkouts answered from an earlier attempt with the same idempotency key")
+				.register(registry);
+	}
+
+	public static CheckoutMetrics detached() {
+		return new CheckoutMetrics(new SimpleMeterRegistry());
+	}
+
+	long start() {
+		return clock.monotonicTime();
+	}
+
+	long cartTotalComputed(long stageStart, double total) {
+		if (total > 0) {
+			cartTotal.record(total);
+		}
+		return stageFinished(cartTotalTimer, stageStart);
+	}
+
+	void cartPlaced(int lines) {
+		cartLines.record(lines);
+	}
+
+	long paymentCompleted(long stageStart) {
+		return stageFinished(paymentTimer, stageStart);
+	}
+
+	long confirmationQueued(long stageStart) {
+		return stageFinished(confirmationTimer, stageStart);
+	}
+
+	CheckoutResult succeeded(long started, CheckoutResult result) {
+		return finish(started, succeeded, result);
+	}
+
+	CheckoutResult missingUser(long started, CheckoutResult result) {
+		return finish(started, missingUser, result);
+	}
+
+	CheckoutResult emptyCart(long started, CheckoutResult result) {
+		return finish(started, emptyCart, result);
+	}
+
+	CheckoutResult paymentDeclined(long started, CheckoutResult result) {
+		return finish(started, paymentDeclined, result);
+	}
+
+	void failed(long started) {
+		finish(started, errors, null);
+	}
+
+	void replayed() {
+		replays.increment();
+	}
+
+	private long stageFinished(Timer timer, long stageStart) {
+		long now = clock.monotonicTime();
+		timer.record(now - stageStart, TimeUnit.NANOSECONDS);
+		return now;
+	}
+
+	private CheckoutResult finish(long started, Counter outcome, CheckoutResult result) {
+		checkoutTimer.record(clock.monotonicTime() - started, TimeUnit.NANOSECONDS);
+		outcome.increment();
+		return result;
+	}
+
+	private static Timer stageTimer(MeterRegistry registry, String stage) {
+		return Timer.builder("checkout.stage.duration")
+				.description("Time spent in each checkout step")
+				.tag("stage", stage)
+				.register(registry);
+	}
+
+	private static Counter resultCounter(MeterRegistry registry, String outcome) {
+		return Counter.builder("checkout.results")
+				.description("Checkout attempts by outcome")
+				.tag("outcome", outcome)
+				.register(registry);
+	}
+}
@@ -0,0 +1,268 @@
+package com.example.demo.features.order.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.user.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Charges through the payment processor's HTTP API. One HttpClient is shared, so connections are kept alive
+ * and reused across charges. Three guards keep a slow or failing processor from holding up checkout:
+ * <ul>
+ * <li>every request has a connect and a response deadline;</li>
+ * <li>a bulkhead caps concurrent charges, and callers that cannot get a slot promptly are turned away;</li>
+ * <li>after {@code failureThreshold} consecutive failures the circuit opens and charges fail immediately
+ * for {@code openMillis}, after which a single trial request decides whether it closes again.</li>
+ * </ul>
+ * A decline is an answer and returns false. Anything that is not an answer throws PaymentUnavailableException.
+ * Every request carries an Idempotency-Key header, so a retry of a charge whose answer was lost to a timeout
+ * is recognised by the processor rather than charged again.
+ */
+@Component
+@Profile("prod")
+public class HttpPaymentGateway implements PaymentGateway {
+
+	private static final Logger log = LoggerFactory.getLogger(HttpPaymentGateway.class);
+
+	private enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final HttpClient client;
+	private final URI chargeUri;
+	private final String apiKey;
+	private final Duration requestTimeout;
+	private final Semaphore bulkhead;
+	private final long acquireTimeoutMillis;
+	private final int failureThreshold;
+	private final long openNanos;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Timer approvedTimer;
+	private final Timer declinedTimer;
+	private final Timer failedTimer;
+	private final Counter bulkheadRejections;
+	private final Counter circuitRejections;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+
+	@Autowired
+	public HttpPaymentGateway(@Value("${payment.http.charge-url}") String chargeUrl,
+			@Value("${payment.http.api-key:}") String apiKey,
+			@Value("${payment.http.connect-timeout-ms:500}") long connectTimeoutMillis,
+			@Value("${payment.http.request-timeout-ms:2000}") long requestTimeoutMillis,
+			@Value("${payment.http.max-concurrent:32}") int maxConcurrent,
+			@Value("${payment.http.acquire-timeout-ms:50}") long acquireTimeoutMillis,
+			@Value("${payment.http.failure-threshold:5}") int failureThreshold,
+			@Value("${payment.http.open-ms:10000}") long openMillis,
+			MeterRegistry registry) {
+		if (maxConcurrent <= 0) {
+			throw new IllegalArgumentException("Concurrent charge limit must be positive");
+		}
+		if (failureThreshold <= 0) {
+			throw new IllegalArgumentException("Failure threshold must be positive");
+		}
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofMillis(Math.max(connectTimeoutMillis, 1)))
+				.build();
+		this.chargeUri = URI.create(chargeUrl);
+		this.apiKey = apiKey;
+		this.requestTimeout = Duration.ofMillis(Math.max(requestTimeoutMillis, 1));
+		this.bulkhead = new Semaphore(maxConcurrent);
+		this.acquireTimeoutMillis = Math.max(acquireTimeoutMillis, 0);
+		this.failureThreshold = failureThreshold;
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(openMillis, 0));
+		this.approvedTimer = chargeTimer(registry, "approved");
+		this.declinedTimer = chargeTimer(registry, "declined");
+		this.failedTimer = chargeTimer(registry, "failed");
+		this.bulkheadRejections = rejectionCounter(registry, "bulkhead_full");
+		this.circuitRejections = rejectionCounter(registry, "circuit_open");
+		Gauge.builder("payment.gateway.circuit.open", this, gateway -> gateway.isCircuitOpen() ? 1 : 0)
+				.description("1 while charges are being refused without calling the processor")
+				.register(registry);
+	}
+
+	// Without a caller-supplied key each call is its own charge, so a fresh key still lets the processor
+	// drop a duplicate delivery of this one request.
+	@Override
+	public boolean charge(User user, double amount) {
+		return charge(user, amount, UUID.randomUUID().toString());
+	}
+
+	@Override
+	public boolean charge(User user, double amount, String idempotencyKey) {
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			throw new IllegalArgumentException("Idempotency key is required");
+		}
+		if (!tryEnterCircuit()) {
+			circuitRejections.increment();
+			throw new PaymentUnavailableException("Payment processor unavailable: circuit open");
+		}
+		boolean acquired;
+		try {
+			acquired = bulkhead.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			releaseTrial();
+			throw new PaymentUnavailableException("Interrupted waiting for a payment slot", e);
+		}
+		if (!acquired) {
+			releaseTrial();
+			bulkheadRejections.increment();
+			throw new PaymentUnavailableException("Payment processor busy: too many concurrent charges");
+		}
+		long started = System.nanoTime();
+		try {
+			boolean approved = send(user, amount, idempotencyKey);
+			recordSuccess();
+			(approved ? approvedTimer : declinedTimer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			return approved;
+		} catch (PaymentUnavailableException e) {
+			recordFailure();
+			failedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			throw e;
+		} catch (RuntimeException e) {
+			releaseTrial();
+			throw e;
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	public synchronized boolean isCircuitOpen() {
+		return state == State.OPEN && System.nanoTime() - openedAt < openNanos;
+	}
+
+	private boolean send(User user, double amount, String idempotencyKey) {
+		HttpRequest.Builder request = HttpRequest.newBuilder(chargeUri)
+				.timeout(requestTimeout)
+				.header("Idempotency-Key", idempotencyKey)
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(requestBody(user, amount)));
+		if (apiKey != null && !apiKey.isEmpty()) {
+			request.header("Authorization", "Bearer " + apiKey);
+		}
+		HttpResponse<String> response;
+		try {
+			response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		} catch (HttpTimeoutException e) {
+			throw new PaymentUnavailableException("Payment processor timed out", e);
+		} catch (IOException e) {
+			throw new PaymentUnavailableException("Payment processor unreachable", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PaymentUnavailableException("Interrupted while charging", e);
+		}
+		int status = response.statusCode();
+		if (status == 402) {
+			return false;
+		}
+		if (status < 200 || status >= 300) {
+			throw new PaymentUnavailableException("Payment processor answered HTTP " + status);
+		}
+		try {
+			JsonNode body = objectMapper.readTree(response.body());
+			String outcome = body.path("status").asText("");
+			if (outcome.equals("approved")) {
+				return true;
+			}
+			if (outcome.equals("declined")) {
+				return false;
+			}
+			throw new PaymentUnavailableException("Unexpected payment status '" + outcome + "'");
+		} catch (IOException e) {
+			throw new PaymentUnavailableException("Unreadable payment processor response", e);
+		}
+	}
+
+	private String requestBody(User user, double amount) {
+		ObjectNode body = objectMapper.createObjectNode();
+		if (user != null) {
+			body.put("userId", user.getU_id());
+			body.put("email", user.getUemail());
+		}
+		body.put("amount", BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).toPlainString());
+		return body.toString();
+	}
+
+	// While open, calls are refused until the open period has passed; then exactly one caller is let through
+	// as a trial and everyone else keeps being refused until it reports back.
+	private synchronized boolean tryEnterCircuit() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+			state = State.HALF_OPEN;
+			return true;
+		}
+		return false;
+	}
+
+	private synchronized void releaseTrial() {
+		if (state == State.HALF_OPEN) {
+			state = State.OPEN;
+		}
+	}
+
+	private synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		if (state != State.CLOSED) {
+			log.info("Payment processor recovered; closing circuit");
+			state = State.CLOSED;
+		}
+	}
+
+	private synchronized void recordFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+			log.warn("Payment processor failed {} time(s) in a row; refusing charges for {} ms", consecutiveFailures,
+					TimeUnit.NANOSECONDS.toMillis(openNanos));
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+
+	private static Timer chargeTimer(MeterRegistry registry, String outcome) {
+		return Timer.builder("payment.gateway.duration")
+				.description("Time spent waiting on the payment processor")
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+		return Counter.builder("payment.gateway.rejected")
+				.description("Charges refused without calling the processor")
+				.tag("reason", reason)
+				.register(registry);
+	}
+}
@@ -4,13 +4,11 @@ import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.features.user.model.User;
 
 @Component
-@Profile("!prod")
 public class LoggingConfirmationSender implements ConfirmationSender {
 
 	private static final Logger log = LoggerFactory.getLogger(LoggingConfirmationSender.class);
@@ -11,31 +11,87 @@ public class OrderCheckoutService {
 	private final OrderServices orderServices;
 	private final PaymentGateway paymentGateway;
 	private final ConfirmationSender confirmationSender;
+	private final CheckoutMetrics metrics;
+	private final CheckoutIdempotencyStore idempotencyStore;
 
-	@Autowired
 	public OrderCheckoutService(OrderServices orderServices, PaymentGateway paymentGateway,
 			ConfirmationSender confirmationSender) {
+		this(orderServices, paymentGateway, confirmationSender, CheckoutMetrics.detached(),
+				CheckoutIdempotencyStore.defaults());
+	}
+
+	@Autowired
+	public OrderCheckoutService(OrderServices orderServices, PaymentGateway paymentGateway,
+			ConfirmationSender confirmationSender, CheckoutMetrics metrics,
+			CheckoutIdempotencyStore idempotencyStore) {
 		this.orderServices = orderServices;
 		this.paymentGateway = paymentGateway;
 		this.confirmationSender = confirmationSender;
+		this.metrics = metrics;
+		this.idempotencyStore = idempotencyStore;
+	}
+
+	// Retries that carry the same key, for the same user, get the first attempt's result without touching
+	// the cart total or the payment gateway again. A blank key disables deduplication.
+	public CheckoutResult checkout(User user, String idempotencyKey) {
+		String scopedKey = scopedKey(user, idempotencyKey);
+		if (scopedKey == null) {
+			return checkout(user);
+		}
+		CheckoutIdempotencyStore.Outcome outcome = idempotencyStore.execute(scopedKey,
+				() -> checkout(user, scopedKey, true));
+		if (outcome.replayed) {
+			metrics.replayed();
+		}
+		return outcome.result;
 	}
 
 	public CheckoutResult checkout(User user) {
+		return checkout(user, null, false);
+	}
+
+	// The scoped key is also handed to the gateway, so a retry of a charge whose answer was lost (the store
+	// forgets attempts that threw) is recognised by the processor instead of charging again.
+	private CheckoutResult checkout(User user, String scopedKey, boolean keyed) {
+		long started = metrics.start();
 		if (user == null) {
-			return CheckoutResult.failure("User details are required");
+			return metrics.missingUser(started, CheckoutResult.failure("User details are required"));
 		}
 
-		double cartTotal = orderServices.calculateTotalForUser(user);
-		if (cartTotal <= 0) {
-			return CheckoutResult.failure("Cart total must be greater than zero");
-		}
+		try {
+			double cartTotal = orderServices.calculateTotalForUser(user);
+			long stageStart = metrics.cartTotalComputed(started, cartTotal);
+			if (cartTotal <= 0) {
+				return metrics.emptyCart(started, CheckoutResult.failure("Cart total must be greater than zero"));
+			}
+
+			boolean paymentAccepted = keyed
+					? paymentGateway.charge(user, cartTotal, scopedKey)
+					: paymentGateway.charge(user, cartTotal);
+			stageStart = metrics.paymentCompleted(stageStart);
+			if (!paymentAccepted) {
+				return metrics.paymentDeclined(started, CheckoutResult.failure("Payment declined"));
+			}
 
-		boolean paymentAccepted = paymentGateway.charge(user, cartTotal);
-		if (!paymentAccepted) {
-			return CheckoutResult.failure("Payment declined");
+			confirmationSender.sendConfirmation(user, cartTotal);
+			metrics.confirmationQueued(stageStart);
+			return metrics.succeeded(started, CheckoutResult.success(cartTotal));
+		} catch (RuntimeException e) {
+			metrics.failed(started);
+			throw e;
 		}
+	}
 
-		confirmationSender.sendConfirmation(user, cartTotal);
-		return CheckoutResult.success(cartTotal);
+	private static String scopedKey(User user, String idempotencyKey) {
+		if (user == null || idempotencyKey == null || idempotencyKey.isBlank()) {
+			return null;
+		}
+		if (user.getU_id() > 0) {
+			return user.getU_id() + ":" + idempotencyKey;
+		}
+		if (user.getUemail() != null) {
+			return user.getUemail() + ":" + idempotencyKey;
+		}
+		return null;
 	}
 }
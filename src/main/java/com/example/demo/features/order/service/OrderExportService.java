@@ -0,0 +1,80 @@
+package com.example.demo.features.order.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.features.order.repository.OrderExportRow;
+import com.example.demo.features.order.repository.OrderRepository;
+
+@Component
+public class OrderExportService
+{
+	private static final String HEADER = "id,user,email,product,price,quantity,total,date";
+
+	private final OrderRepository orderRepository;
+
+	@Autowired
+	public OrderExportService(OrderRepository orderRepository)
+	{
+		this.orderRepository = orderRepository;
+	}
+
+	@Transactional(readOnly = true)
+	public long writeCsv(Writer writer) throws IOException
+	{
+		writer.write(HEADER);
+		writer.write('\n');
+		long rows = 0;
+		try (Stream<OrderExportRow> stream = this.orderRepository.streamAllForExport())
+		{
+			for (OrderExportRow row : (Iterable<OrderExportRow>) stream::iterator)
+			{
+				writeRow(writer, row);
+				rows++;
+			}
+		}
+		writer.flush();
+		return rows;
+	}
+
+	private void writeRow(Writer writer, OrderExportRow row) throws IOException
+	{
+		writer.write(Integer.toString(row.getId()));
+		writer.write(',');
+		writeField(writer, row.getUserName());
+		writer.write(',');
+		writeField(writer, row.getUserEmail());
+		writer.write(',');
+		writeField(writer, row.getName());
+		writer.write(',');
+		writer.write(Double.toString(row.getPrice()));
+		writer.write(',');
+		writer.write(Integer.toString(row.getQuantity()));
+		writer.write(',');
+		writer.write(Double.toString(row.getTotal()));
+		writer.write(',');
+		writeField(writer, row.getOrderDate() != null ? row.getOrderDate().toInstant().toString() : null);
+		writer.write('\n');
+	}
+
+	private void writeField(Writer writer, String value) throws IOException
+	{
+		if (value == null)
+		{
+			return;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+		{
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
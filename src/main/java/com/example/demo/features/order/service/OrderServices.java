@@ -2,41 +2,144 @@ package com.example.demo.features.order.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.demo.features.order.dto.OrderHistoryEntry;
+import com.example.demo.features.order.dto.OrderHistoryPage;
 import com.example.demo.features.order.model.Orders;
 import com.example.demo.features.order.repository.OrderRepository;
 import com.example.demo.features.user.model.User;
 @Component
 public class OrderServices
 {
-	private static final BigDecimal MAX_ORDER_TOTAL = new BigDecimal("10000.00");
+	static final BigDecimal MAX_ORDER_TOTAL = new BigDecimal("10000.00");
+	private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
 	@Autowired
 	private OrderRepository orderRepository;
+
+	@Autowired
+	private CheckoutMetrics checkoutMetrics = CheckoutMetrics.detached();
+
+	// One cached total per user who has ordered recently, least recently used first. Guarded by its own monitor.
+	private final Map<Integer, RunningTotal> runningTotals = new LinkedHashMap<>(16, 0.75f, true);
+
+	@Value("${order.running-totals.max-entries:10000}")
+	private int maxRunningTotals = 10000;
+
 	public List<Orders> getOrders()
 	{
 		List<Orders> list=this.orderRepository.findAll();
 		return list;
 	}
+	public Page<Orders> getOrders(Pageable pageable)
+	{
+		return this.orderRepository.findAll(pageable);
+	}
 	public void saveOrder(Orders order)
 	{
-		this.orderRepository.save(order);
+		persist(order);
+	}
+
+	// Every line is priced and validated before anything is written, so a bad line rejects the whole cart.
+	// Line totals are recomputed from price and quantity; a total sent by the client is ignored.
+	@Transactional
+	public List<Orders> placeOrders(User user, List<Orders> lines)
+	{
+		if (user == null)
+		{
+			throw new IllegalArgumentException("User is required");
+		}
+		if (lines == null || lines.isEmpty())
+		{
+			throw new IllegalArgumentException("Cart is empty");
+		}
+		List<Orders> cart = new ArrayList<>(lines.size());
+		BigDecimal cartTotal = BigDecimal.ZERO;
+		Date orderDate = new Date();
+		for (Orders line : lines)
+		{
+			if (line == null)
+			{
+				throw new IllegalArgumentException("Order line is required");
+			}
+			validateOrderLine(line);
+			line.setoId(0);
+			line.setTotalAmmout(0);
+			BigDecimal lineTotal = roundToCurrency(getLineTotal(line));
+			line.setTotalAmmout(lineTotal.doubleValue());
+			line.setUser(user);
+			line.setOrderDate(orderDate);
+			cartTotal = cartTotal.add(lineTotal);
+			cart.add(line);
+		}
+		checkedTotal(cartTotal);
+
+		RunningTotal total = lockTotalFor(user);
+		List<Orders> saved;
+		if (total == null)
+		{
+			saved = this.orderRepository.saveAll(cart);
+		}
+		else
+		{
+			try
+			{
+				saved = this.orderRepository.saveAll(cart);
+				addAfterCommit(total, cartTotal);
+			}
+			finally
+			{
+				total.lock.unlock();
+			}
+		}
+		this.checkoutMetrics.cartPlaced(cart.size());
+		return saved;
 	}
 
 	public void updateOrder(int id,Orders order)
 	{
 		order.setoId(id);
-		this.orderRepository.save(order);
+		persist(order);
 		 
 	}
 
 	public void deleteOrder(int id)
 	{
-		this.orderRepository.deleteById(id);
+		RunningTotal total = lockTotalForOrder(id);
+		if (total == null)
+		{
+			this.orderRepository.deleteById(id);
+			return;
+		}
+		try
+		{
+			this.orderRepository.deleteById(id);
+			invalidateAfterCommit(total);
+		}
+		finally
+		{
+			total.lock.unlock();
+		}
 	}
 
 	public List<Orders> getOrdersForUser(User user)
@@ -44,9 +147,275 @@ public class OrderServices
 	 return  this.orderRepository.findOrdersByUser(user);
 	}
 
+	// One extra row is read to tell whether another page follows, so no count query is needed.
+	public OrderHistoryPage getOrderHistory(User user, String cursor, int pageSize)
+	{
+		if (pageSize <= 0 || pageSize > MAX_HISTORY_PAGE_SIZE)
+		{
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+		}
+		if (user == null || user.getU_id() <= 0)
+		{
+			return new OrderHistoryPage(List.of(), null);
+		}
+		PageRequest limit = PageRequest.of(0, pageSize + 1);
+		List<OrderHistoryEntry> rows;
+		if (cursor == null || cursor.isEmpty())
+		{
+			rows = this.orderRepository.findHistory(user.getU_id(), limit);
+		}
+		else
+		{
+			HistoryCursor position = HistoryCursor.decode(cursor);
+			rows = this.orderRepository.findHistoryBefore(user.getU_id(), position.orderDate, position.oId, limit);
+		}
+		if (rows.size() <= pageSize)
+		{
+			return new OrderHistoryPage(rows, null);
+		}
+		List<OrderHistoryEntry> page = new ArrayList<>(rows.subList(0, pageSize));
+		return new OrderHistoryPage(page, HistoryCursor.encode(page.get(pageSize - 1)));
+	}
+
 	public double calculateTotalForUser(User user)
 	{
-		List<Orders> orders = getOrdersForUser(user);
+		RunningTotal total = lockTotalFor(user);
+		if (total == null)
+		{
+			return calculateTotal(getOrdersForUser(user));
+		}
+
+		BigDecimal sum;
+		try
+		{
+			if (!total.seeded)
+			{
+				total.seed(getOrdersForUser(user));
+			}
+			sum = total.invalidLines == 0 ? total.sum : null;
+		}
+		finally
+		{
+			total.lock.unlock();
+		}
+		if (sum == null)
+		{
+			return calculateTotal(getOrdersForUser(user));
+		}
+		return checkedTotal(sum);
+	}
+
+	// A new line moves its user's total by its contribution. A change to an existing line drops the totals of
+	// the users it belonged to and now belongs to instead, so they are reseeded on next use: two writers that
+	// both read the same old row must not both take its contribution out.
+	private void persist(Orders order)
+	{
+		Orders previous = order.getoId() != 0 ? this.orderRepository.findById(order.getoId()).orElse(null) : null;
+		// Order history seeks on orderDate, so a line saved without one would never be paged to.
+		if (order.getOrderDate() == null)
+		{
+			order.setOrderDate(previous != null && previous.getOrderDate() != null ? previous.getOrderDate() : new Date());
+		}
+		if (previous == null)
+		{
+			RunningTotal total = lockTotalFor(order.getUser());
+			if (total == null)
+			{
+				this.orderRepository.save(order);
+				return;
+			}
+			try
+			{
+				this.orderRepository.save(order);
+				addAfterCommit(total, contributionOf(order));
+			}
+			finally
+			{
+				total.lock.unlock();
+			}
+			return;
+		}
+
+		RunningTotal previousTotal = lockTotalForOrder(order.getoId());
+		try
+		{
+			this.orderRepository.save(order);
+			if (previousTotal != null)
+			{
+				invalidateAfterCommit(previousTotal);
+			}
+		}
+		finally
+		{
+			if (previousTotal != null)
+			{
+				previousTotal.lock.unlock();
+			}
+		}
+		RunningTotal total = lockTotalFor(order.getUser());
+		if (total != null)
+		{
+			try
+			{
+				invalidateAfterCommit(total);
+			}
+			finally
+			{
+				total.lock.unlock();
+			}
+		}
+	}
+
+	// Inside a transaction the rows only exist once it commits, so the total moves then and is left alone on
+	// rollback. If the total was re-read from the database in between, that read may already include the
+	// rows, so it is dropped and re-read instead of being added to twice. Outside a transaction the rows are
+	// already written. Called with the total's lock held.
+	private void addAfterCommit(RunningTotal total, BigDecimal contribution)
+	{
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			total.add(contribution);
+			return;
+		}
+		long seedsAtSave = total.seeds;
+		total.pendingCommits++;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+		{
+			@Override
+			public void afterCompletion(int status)
+			{
+				total.lock.lock();
+				try
+				{
+					total.pendingCommits--;
+					if (status != STATUS_COMMITTED)
+					{
+						return;
+					}
+					if (total.seeds == seedsAtSave)
+					{
+						total.add(contribution);
+					}
+					else
+					{
+						total.invalidate();
+					}
+				}
+				finally
+				{
+					total.lock.unlock();
+				}
+			}
+		});
+	}
+
+	// Drops the total now and, inside a transaction, again once it ends, since a reseed that ran before the
+	// commit would not have seen this write. Called with the total's lock held.
+	private void invalidateAfterCommit(RunningTotal total)
+	{
+		total.invalidate();
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			return;
+		}
+		total.pendingCommits++;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+		{
+			@Override
+			public void afterCompletion(int status)
+			{
+				total.lock.lock();
+				try
+				{
+					total.pendingCommits--;
+					total.invalidate();
+				}
+				finally
+				{
+					total.lock.unlock();
+				}
+			}
+		});
+	}
+
+	// Returns the total of the user who owns order id, with its lock held, or null when the row is gone or has
+	// no saved user. The row is read again once the lock is held, and the lookup repeated if a concurrent
+	// update moved it to another user in between.
+	private RunningTotal lockTotalForOrder(int id)
+	{
+		while (true)
+		{
+			Orders row = this.orderRepository.findById(id).orElse(null);
+			int owner = totalKey(row != null ? row.getUser() : null);
+			RunningTotal total = lockTotalFor(row != null ? row.getUser() : null);
+			if (total == null)
+			{
+				return null;
+			}
+			Orders current = this.orderRepository.findById(id).orElse(null);
+			if (current != null && totalKey(current.getUser()) == owner)
+			{
+				return total;
+			}
+			total.lock.unlock();
+		}
+	}
+
+	// Returns the user's total with its lock held, or null for a user that has not been saved. A total that
+	// was evicted between the lookup and the lock is retired, and the lookup is repeated.
+	private RunningTotal lockTotalFor(User user)
+	{
+		int userId = totalKey(user);
+		if (userId <= 0)
+		{
+			return null;
+		}
+		while (true)
+		{
+			RunningTotal total = runningTotalFor(userId);
+			total.lock.lock();
+			if (!total.retired)
+			{
+				return total;
+			}
+			total.lock.unlock();
+		}
+	}
+
+	// Least recently used totals beyond maxRunningTotals are dropped and reseeded from the database on next
+	// use. A total that is locked or waiting for a commit is skipped, so no update can land on a dropped
+	// copy while a fresh one misses it; the map may exceed the bound by that many entries.
+	private RunningTotal runningTotalFor(int userId)
+	{
+		synchronized (runningTotals)
+		{
+			RunningTotal total = runningTotals.get(userId);
+			if (total != null)
+			{
+				return total;
+			}
+			total = new RunningTotal();
+			runningTotals.put(userId, total);
+			Iterator<RunningTotal> eldest = runningTotals.values().iterator();
+			while (runningTotals.size() > maxRunningTotals && eldest.hasNext())
+			{
+				RunningTotal candidate = eldest.next();
+				if (candidate != total && candidate.retire())
+				{
+					eldest.remove();
+				}
+			}
+			return total;
+		}
+	}
+
+	private static int totalKey(User user)
+	{
+		return user != null ? user.getU_id() : 0;
+	}
+
+	private double calculateTotal(List<Orders> orders)
+	{
 		if (orders == null)
 		{
 			return 0.0;
@@ -63,6 +432,11 @@ public class OrderServices
 			BigDecimal lineTotal = getLineTotal(order);
 			total = total.add(lineTotal);
 		}
+		return checkedTotal(total);
+	}
+
+	private double checkedTotal(BigDecimal total)
+	{
 		BigDecimal roundedTotal = roundToCurrency(total);
 		if (roundedTotal.compareTo(MAX_ORDER_TOTAL) > 0)
 		{
@@ -71,6 +445,17 @@ public class OrderServices
 		return roundedTotal.doubleValue();
 	}
 
+	// Lines that fail validation contribute null; while any are present the total is recomputed in
+	// full so callers keep getting the same exception as before.
+	private static BigDecimal contributionOf(Orders order)
+	{
+		if (order.getoQuantity() <= 0 || order.getoPrice() < 0)
+		{
+			return null;
+		}
+		return getLineTotal(order);
+	}
+
 	private void validateOrderLine(Orders order)
 	{
 		if (order.getoQuantity() <= 0)
@@ -83,7 +468,7 @@ public class OrderServices
 		}
 	}
 
-	private BigDecimal getLineTotal(Orders order)
+	private static BigDecimal getLineTotal(Orders order)
 	{
 		double totalAmount = order.getTotalAmmout();
 		if (totalAmount > 0)
@@ -99,5 +484,131 @@ public class OrderServices
 	{
 		return value.setScale(2, RoundingMode.HALF_UP);
 	}
+
+	// Opaque to clients. Nanoseconds are kept so the equality half of the seek condition still matches
+	// timestamps stored with sub-millisecond precision.
+	private static final class HistoryCursor
+	{
+		private final Timestamp orderDate;
+		private final int oId;
+
+		private HistoryCursor(Timestamp orderDate, int oId)
+		{
+			this.orderDate = orderDate;
+			this.oId = oId;
+		}
+
+		private static String encode(OrderHistoryEntry last)
+		{
+			Date date = last.getOrderDate();
+			long millis = date.getTime();
+			int nanos = date instanceof Timestamp timestamp ? timestamp.getNanos()
+					: (int) Math.floorMod(millis, 1000L) * 1_000_000;
+			String raw = millis + ":" + nanos + ":" + last.getoId();
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+		}
+
+		private static HistoryCursor decode(String cursor)
+		{
+			try
+			{
+				String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+				String[] parts = raw.split(":");
+				if (parts.length != 3)
+				{
+					throw new IllegalArgumentException("Invalid order history cursor");
+				}
+				Timestamp orderDate = new Timestamp(Long.parseLong(parts[0]));
+				orderDate.setNanos(Integer.parseInt(parts[1]));
+				return new HistoryCursor(orderDate, Integer.parseInt(parts[2]));
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IllegalArgumentException("Invalid order history cursor", e);
+			}
+		}
+	}
+
+	// Guarded by an explicit lock rather than a monitor: writes happen while it is held, and a virtual thread
+	// blocked on JDBC inside a synchronized block would pin its carrier thread.
+	private static final class RunningTotal
+	{
+		private final ReentrantLock lock = new ReentrantLock();
+		private boolean seeded;
+		private boolean retired;
+		private long seeds;
+		private int pendingCommits;
+		private BigDecimal sum = BigDecimal.ZERO;
+		private int invalidLines;
+
+		private void seed(List<Orders> orders)
+		{
+			sum = BigDecimal.ZERO;
+			invalidLines = 0;
+			if (orders != null)
+			{
+				for (Orders order : orders)
+				{
+					if (order == null)
+					{
+						continue;
+					}
+					BigDecimal contribution = contributionOf(order);
+					if (contribution != null)
+					{
+						sum = sum.add(contribution);
+					}
+					else
+					{
+						invalidLines++;
+					}
+				}
+			}
+			seeded = true;
+			seeds++;
+		}
+
+		private void add(BigDecimal contribution)
+		{
+			if (!seeded)
+			{
+				return;
+			}
+			if (contribution != null)
+			{
+				sum = sum.add(contribution);
+			}
+			else
+			{
+				invalidLines++;
+			}
+		}
+
+		private void invalidate()
+		{
+			seeded = false;
+		}
+
+		private boolean retire()
+		{
+			if (!lock.tryLock())
+			{
+				return false;
+			}
+			try
+			{
+				if (pendingCommits > 0)
+				{
+					return false;
+				}
+				retired = true;
+				return true;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+	}
 	
 }
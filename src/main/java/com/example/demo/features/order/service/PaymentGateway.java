@@ -4,4 +4,10 @@ import com.example.demo.features.user.model.User;
 
 public interface PaymentGateway {
     boolean charge(User user, double amount);
+
+    // Charges with the same key are one charge: a retry after a timeout must not bill the card twice. Gateways
+    // that cannot lose an answer in transit have nothing to deduplicate and may ignore the key.
+    default boolean charge(User user, double amount, String idempotencyKey) {
+        return charge(user, amount);
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.demo.features.order.service;
+
+// The processor could not give an answer. Unlike a decline, retrying later may succeed, so checkout lets this
+// propagate instead of reporting "Payment declined" (and the idempotency store does not keep it).
+public class PaymentUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PaymentUnavailableException(String message) {
+		super(message);
+	}
+
+	public PaymentUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
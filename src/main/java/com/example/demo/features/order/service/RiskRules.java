@@ -0,0 +1,305 @@
+package com.example.demo.features.order.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import com.example.demo.features.user.model.User;
+
+/**
+ * Compiled, immutable risk rule table. Every check is evaluated against primitive arrays so that
+ * screening an ASCII email and a two-decimal amount does not allocate.
+ */
+public final class RiskRules {
+
+	private static final double EXACT_CENTS_LIMIT = 1e7;
+
+	private final double maxAllowedAmount;
+	private final int declineThreshold;
+	private final double[] amountThresholds;
+	private final int[] amountPenalties;
+	private final int missingPhonePenalty;
+	private final int missingNamePenalty;
+	private final String[] suffixes;
+	private final int[] suffixPenalties;
+	private final String[] blacklistedDomains;
+	private final int hashModulus;
+
+	public RiskRules(double maxAllowedAmount, int declineThreshold, double[] amountThresholds, int[] amountPenalties,
+			int missingPhonePenalty, int missingNamePenalty, String[] suffixes, int[] suffixPenalties,
+			String[] blacklistedDomains, int hashModulus) {
+		if (amountThresholds.length != amountPenalties.length) {
+			throw new IllegalArgumentException("Every amount threshold needs a penalty");
+		}
+		if (suffixes.length != suffixPenalties.length) {
+			throw new IllegalArgumentException("Every email suffix needs a penalty");
+		}
+		if (hashModulus <= 0) {
+			throw new IllegalArgumentException("Hash modulus must be positive");
+		}
+		this.maxAllowedAmount = maxAllowedAmount;
+		this.declineThreshold = declineThreshold;
+		this.amountThresholds = amountThresholds.clone();
+		this.amountPenalties = amountPenalties.clone();
+		this.missingPhonePenalty = missingPhonePenalty;
+		this.missingNamePenalty = missingNamePenalty;
+		this.suffixes = suffixes.clone();
+		this.suffixPenalties = suffixPenalties.clone();
+		this.blacklistedDomains = new String[blacklistedDomains.length];
+		for (int i = 0; i < blacklistedDomains.length; i++) {
+			this.blacklistedDomains[i] = blacklistedDomains[i].trim().toLowerCase(Locale.ROOT);
+		}
+		this.hashModulus = hashModulus;
+	}
+
+	public static RiskRules defaults() {
+		return new RiskRules(1_000.0, 70,
+				new double[] { 200, 500, 800 }, new int[] { 30, 30, 15 },
+				20, 10,
+				new String[] { ".ru", ".cn" }, new int[] { 20, 20 },
+				new String[] { "fraud.com", "test-spam.org" },
+				20);
+	}
+
+	public static RiskRules fromProperties(Properties properties) {
+		RiskRules defaults = defaults();
+		String amountPenalties = properties.getProperty("risk.amount-penalties");
+		String suffixPenalties = properties.getProperty("risk.suffix-penalties");
+		String blacklist = properties.getProperty("risk.blacklisted-domains");
+
+		List<String[]> amountPairs = amountPenalties != null ? pairs(amountPenalties) : null;
+		List<String[]> suffixPairs = suffixPenalties != null ? pairs(suffixPenalties) : null;
+
+		double[] thresholds = defaults.amountThresholds;
+		int[] amountScores = defaults.amountPenalties;
+		if (amountPairs != null) {
+			thresholds = new double[amountPairs.size()];
+			amountScores = new int[amountPairs.size()];
+			for (int i = 0; i < amountPairs.size(); i++) {
+				thresholds[i] = Double.parseDouble(amountPairs.get(i)[0]);
+				amountScores[i] = Integer.parseInt(amountPairs.get(i)[1]);
+			}
+		}
+
+		String[] suffixes = defaults.suffixes;
+		int[] suffixScores = defaults.suffixPenalties;
+		if (suffixPairs != null) {
+			suffixes = new String[suffixPairs.size()];
+			suffixScores = new int[suffixPairs.size()];
+			for (int i = 0; i < suffixPairs.size(); i++) {
+				suffixes[i] = suffixPairs.get(i)[0];
+				suffixScores[i] = Integer.parseInt(suffixPairs.get(i)[1]);
+			}
+		}
+
+		String[] domains = defaults.blacklistedDomains;
+		if (blacklist != null) {
+			domains = blacklist.isBlank() ? new String[0] : blacklist.split(",");
+		}
+
+		return new RiskRules(
+				doubleProperty(properties, "risk.max-allowed-amount", defaults.maxAllowedAmount),
+				intProperty(properties, "risk.decline-threshold", defaults.declineThreshold),
+				thresholds, amountScores,
+				intProperty(properties, "risk.missing-phone-penalty", defaults.missingPhonePenalty),
+				intProperty(properties, "risk.missing-name-penalty", defaults.missingNamePenalty),
+				suffixes, suffixScores, domains,
+				intProperty(properties, "risk.hash-modulus", defaults.hashModulus));
+	}
+
+	public RiskVerdict screen(User user, double amount) {
+		if (user == null) {
+			return RiskVerdict.MISSING_USER;
+		}
+		if (amount <= 0) {
+			return RiskVerdict.NON_POSITIVE_AMOUNT;
+		}
+		if (hasTooManyDecimalPlaces(amount)) {
+			return RiskVerdict.INVALID_PRECISION;
+		}
+		if (amount > maxAllowedAmount) {
+			return RiskVerdict.OVER_LIMIT;
+		}
+		String email = user.getUemail();
+		int at = validEmailSeparator(email);
+		if (at < 0) {
+			return RiskVerdict.INVALID_EMAIL;
+		}
+		if (isBlacklistedDomain(email, at + 1)) {
+			return RiskVerdict.BLACKLISTED_DOMAIN;
+		}
+		return score(user, amount) < declineThreshold ? RiskVerdict.ACCEPTED : RiskVerdict.HIGH_RISK;
+	}
+
+	public int score(User user, double amount) {
+		int score = 0;
+		for (int i = 0; i < amountThresholds.length; i++) {
+			if (amount > amountThresholds[i]) {
+				score += amountPenalties[i];
+			}
+		}
+
+		if (user.getUnumber() == null) {
+			score += missingPhonePenalty;
+		}
+		if (isBlank(user.getUname())) {
+			score += missingNamePenalty;
+		}
+
+		String email = user.getUemail();
+		if (email != null) {
+			int hash = lowerCaseHash(email);
+			int positiveHash = hash == Integer.MIN_VALUE ? 0 : Math.abs(hash);
+			score += positiveHash % hashModulus;
+			for (int i = 0; i < suffixes.length; i++) {
+				if (email.endsWith(suffixes[i])) {
+					score += suffixPenalties[i];
+					break;
+				}
+			}
+		}
+		return score;
+	}
+
+	public double getMaxAllowedAmount() {
+		return maxAllowedAmount;
+	}
+
+	// Mirrors BigDecimal.valueOf(amount).scale() > 2; the exact-cents shortcut only answers for
+	// amounts whose shortest decimal form has at most two fraction digits.
+	static boolean hasTooManyDecimalPlaces(double amount) {
+		if (Math.abs(amount) < EXACT_CENTS_LIMIT) {
+			double cents = Math.rint(amount * 100);
+			if (cents / 100 == amount) {
+				return false;
+			}
+		}
+		return BigDecimal.valueOf(amount).scale() > 2;
+	}
+
+	// Same acceptance as ^[^@\s]+@[^@\s]+\.[^@\s]+$; returns the index of '@', or -1.
+	static int validEmailSeparator(String email) {
+		if (email == null) {
+			return -1;
+		}
+		int length = email.length();
+		int at = -1;
+		for (int i = 0; i < length; i++) {
+			char c = email.charAt(i);
+			if (isRegexWhitespace(c)) {
+				return -1;
+			}
+			if (c == '@') {
+				if (at >= 0) {
+					return -1;
+				}
+				at = i;
+			}
+		}
+		if (at <= 0) {
+			return -1;
+		}
+		for (int i = at + 2; i < length - 1; i++) {
+			if (email.charAt(i) == '.') {
+				return at;
+			}
+		}
+		return -1;
+	}
+
+	private boolean isBlacklistedDomain(String email, int domainStart) {
+		int domainLength = email.length() - domainStart;
+		if (!isAscii(email)) {
+			String domain = email.substring(domainStart).toLowerCase(Locale.ROOT);
+			for (String blacklisted : blacklistedDomains) {
+				if (blacklisted.equals(domain)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		for (String blacklisted : blacklistedDomains) {
+			if (blacklisted.length() == domainLength && asciiEqualsIgnoreCase(email, domainStart, blacklisted)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean asciiEqualsIgnoreCase(String source, int offset, String lowerCase) {
+		for (int i = 0; i < lowerCase.length(); i++) {
+			if (toLowerAscii(source.charAt(offset + i)) != lowerCase.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int lowerCaseHash(String value) {
+		int hash = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80) {
+				return value.toLowerCase(Locale.ROOT).hashCode();
+			}
+			hash = 31 * hash + toLowerAscii(c);
+		}
+		return hash;
+	}
+
+	private static boolean isBlank(String value) {
+		if (value == null) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char toLowerAscii(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	private static boolean isRegexWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static List<String[]> pairs(String value) {
+		List<String[]> pairs = new ArrayList<>();
+		if (value.isBlank()) {
+			return pairs;
+		}
+		for (String entry : value.split(",")) {
+			String[] pair = entry.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("Expected key:penalty but got '" + entry + "'");
+			}
+			pairs.add(new String[] { pair[0].trim(), pair[1].trim() });
+		}
+		return pairs;
+	}
+
+	private static double doubleProperty(Properties properties, String key, double defaultValue) {
+		String value = properties.getProperty(key);
+		return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+	}
+
+	private static int intProperty(Properties properties, String key, int defaultValue) {
+		String value = properties.getProperty(key);
+		return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+	}
+}
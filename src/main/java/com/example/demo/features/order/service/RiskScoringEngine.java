@@ -0,0 +1,118 @@
+package com.example.demo.features.order.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RiskScoringEngine {
+
+	private static final Logger log = LoggerFactory.getLogger(RiskScoringEngine.class);
+
+	private final String rulesLocation;
+	private volatile RiskRules rules;
+	private volatile FileTime loadedModified;
+
+	public RiskScoringEngine() {
+		this(RiskRules.defaults());
+	}
+
+	public RiskScoringEngine(RiskRules rules) {
+		this.rulesLocation = "";
+		this.rules = rules;
+	}
+
+	@Autowired
+	public RiskScoringEngine(@Value("${payment.risk-rules.location:}") String rulesLocation) {
+		this.rulesLocation = rulesLocation;
+		if (rulesLocation.isBlank()) {
+			this.rules = RiskRules.defaults();
+		} else {
+			Path path = Path.of(rulesLocation);
+			this.loadedModified = modifiedTime(path);
+			this.rules = load(path);
+		}
+	}
+
+	public RiskRules currentRules() {
+		return rules;
+	}
+
+	public void reload(RiskRules newRules) {
+		if (newRules == null) {
+			throw new IllegalArgumentException("Risk rules are required");
+		}
+		rules = newRules;
+	}
+
+	public void reload() {
+		if (rulesLocation.isBlank()) {
+			log.info("No risk rule file configured, keeping current rules");
+			return;
+		}
+		Path path = Path.of(rulesLocation);
+		FileTime modified = modifiedTime(path);
+		reload(load(path));
+		loadedModified = modified;
+		log.info("Reloaded risk rules from {}", rulesLocation);
+	}
+
+	// Picks up edits to the rule file without a restart. A file that cannot be read or parsed is logged and
+	// the current rules stay in force until the file changes again.
+	@Scheduled(fixedDelayString = "${payment.risk-rules.check-interval-ms:30000}",
+			initialDelayString = "${payment.risk-rules.check-interval-ms:30000}")
+	public boolean reloadIfChanged() {
+		if (rulesLocation.isBlank()) {
+			return false;
+		}
+		Path path = Path.of(rulesLocation);
+		FileTime modified;
+		try {
+			modified = modifiedTime(path);
+		} catch (UncheckedIOException e) {
+			log.warn("Keeping current risk rules: {}", e.getMessage());
+			return false;
+		}
+		if (modified.equals(loadedModified)) {
+			return false;
+		}
+		loadedModified = modified;
+		try {
+			reload(load(path));
+		} catch (RuntimeException e) {
+			log.warn("Keeping current risk rules: {} could not be loaded", rulesLocation, e);
+			return false;
+		}
+		log.info("Reloaded risk rules from {} after it changed", rulesLocation);
+		return true;
+	}
+
+	private static FileTime modifiedTime(Path location) {
+		try {
+			return Files.getLastModifiedTime(location);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read risk rules from " + location, e);
+		}
+	}
+
+	private static RiskRules load(Path location) {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(location)) {
+			properties.load(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read risk rules from " + location, e);
+		}
+		return RiskRules.fromProperties(properties);
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.demo.features.order.service;
+
+public enum RiskVerdict {
+	ACCEPTED,
+	MISSING_USER,
+	NON_POSITIVE_AMOUNT,
+	INVALID_PRECISION,
+	OVER_LIMIT,
+	INVALID_EMAIL,
+	BLACKLISTED_DOMAIN,
+	HIGH_RISK
+}
@@ -0,0 +1,47 @@
+package com.example.demo.features.product.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.demo.features.product.service.ProductServices;
+
+/**
+ * HTTP caching for responses that depend only on the catalog. The ETag is the catalog tag from
+ * ProductServices, so it changes with every product mutation or import. By default browsers revalidate on
+ * every visit and get a 304 while nothing has changed, and shared caches such as a CDN may serve the page for
+ * {@code sharedMaxAgeSeconds} without asking.
+ */
+@Component
+public class CatalogCaching {
+
+	private final ProductServices productServices;
+	private final String cacheControl;
+
+	@Autowired
+	public CatalogCaching(ProductServices productServices,
+			@Value("${catalog.http.max-age-seconds:0}") long maxAgeSeconds,
+			@Value("${catalog.http.shared-max-age-seconds:60}") long sharedMaxAgeSeconds) {
+		this.productServices = productServices;
+		this.cacheControl = CacheControl.maxAge(Math.max(maxAgeSeconds, 0), TimeUnit.SECONDS)
+				.sMaxAge(Math.max(sharedMaxAgeSeconds, 0), TimeUnit.SECONDS)
+				.cachePublic()
+				.mustRevalidate()
+				.getHeaderValue();
+	}
+
+	// Sets the caching headers and answers a matching If-None-Match with 304, in which case the caller must
+	// return null without loading or rendering anything. The tag is read before the caller loads the catalog,
+	// so a concurrent change can only make the response look older than it is, never newer.
+	public boolean checkNotModified(ServletWebRequest request) {
+		if (request.getResponse() != null) {
+			request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+		}
+		return request.checkNotModified(productServices.getCatalogTag());
+	}
+}
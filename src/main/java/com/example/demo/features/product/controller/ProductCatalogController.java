@@ -0,0 +1,31 @@
+package com.example.demo.features.product.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.service.ProductServices;
+
+@RestController
+public class ProductCatalogController 
+{
+	@Autowired
+	private ProductServices productServices;
+
+	@Autowired
+	private CatalogCaching catalogCaching;
+
+	@GetMapping("/api/products")
+	public List<Product> catalog(ServletWebRequest request)
+	{
+		if (this.catalogCaching.checkNotModified(request))
+		{
+			return null;
+		}
+		return this.productServices.getAllProducts();
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.demo.features.product.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.features.product.service.ProductSearchIndex;
+import com.example.demo.features.product.service.ProductSearchResult;
+
+@RestController
+public class ProductSearchController 
+{
+	private static final int MAX_RESULTS = 50;
+
+	@Autowired
+	private ProductSearchIndex productSearchIndex;
+
+	@GetMapping("/api/products/search")
+	public List<ProductSearchResult> search(@RequestParam("q") String query,
+			@RequestParam(name = "limit", defaultValue = "10") int limit)
+	{
+		return this.productSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_RESULTS)));
+	}
+}
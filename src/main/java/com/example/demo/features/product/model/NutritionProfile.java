@@ -41,4 +41,13 @@ public class NutritionProfile {
 	public void setFatGrams(double fatGrams) {
 		this.fatGrams = fatGrams;
 	}
+
+	public NutritionProfile copy() {
+		NutritionProfile copy = new NutritionProfile();
+		copy.caloriesPerServing = caloriesPerServing;
+		copy.proteinGrams = proteinGrams;
+		copy.carbohydrateGrams = carbohydrateGrams;
+		copy.fatGrams = fatGrams;
+		return copy;
+	}
 }
@@ -5,14 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "product_table")
+@Table(name = "product_table", indexes = @Index(name = "idx_product_pname", columnList = "pname"))
 public class Product
 {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
 	private int pid;
 	private String pname;
 	private double pprice;
@@ -77,4 +80,17 @@ public class Product
 		this.nutritionProfile = nutritionProfile;
 	}
 
+	// A detached copy with the same field values, for callers that must not share this instance.
+	public Product copy() {
+		Product copy = new Product();
+		copy.pid = pid;
+		copy.pname = pname;
+		copy.pprice = pprice;
+		copy.pdescription = pdescription;
+		copy.defaultServingSize = defaultServingSize;
+		copy.initialStock = initialStock;
+		copy.nutritionProfile = nutritionProfile != null ? nutritionProfile.copy() : null;
+		return copy;
+	}
+
 }
@@ -2,10 +2,11 @@ package com.example.demo.features.product.repository;
 
 
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import com.example.demo.features.product.model.Product;
 
-public interface ProductRepository extends CrudRepository<Product,Integer>
+public interface ProductRepository extends CrudRepository<Product,Integer>, PagingAndSortingRepository<Product,Integer>
 {
 	public Product findByPname(String name);
 
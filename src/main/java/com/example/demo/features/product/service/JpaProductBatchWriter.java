@@ -0,0 +1,32 @@
+package com.example.demo.features.product.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.features.product.model.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// One transaction per batch. Clearing after the flush keeps the persistence context from growing with the
+// import, which matters under open-session-in-view where it would otherwise live for the whole request.
+@Component
+public class JpaProductBatchWriter implements ProductBatchWriter
+{
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional
+	public void write(List<Product> products)
+	{
+		for (Product product : products)
+		{
+			this.entityManager.persist(product);
+		}
+		this.entityManager.flush();
+		this.entityManager.clear();
+	}
+}
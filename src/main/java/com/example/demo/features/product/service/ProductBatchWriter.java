@@ -0,0 +1,9 @@
+package com.example.demo.features.product.service;
+
+import java.util.List;
+
+import com.example.demo.features.product.model.Product;
+
+public interface ProductBatchWriter {
+	void write(List<Product> products);
+}
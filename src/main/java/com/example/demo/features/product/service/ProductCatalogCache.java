@@ -0,0 +1,197 @@
+package com.example.demo.features.product.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.example.demo.features.product.model.Product;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * In-process read-through cache for the product catalog. The full catalog is held as an immutable
+ * snapshot; single-product lookups by id and name go through a size-bounded LRU. Every mutation bumps
+ * the version, and loads that started under an older version are discarded.
+ *
+ * Product is a mutable entity, and controllers bind form fields onto it. The cache therefore keeps private
+ * copies and hands every caller its own copy, so a change made by one request never shows up in the next.
+ */
+public class ProductCatalogCache {
+
+	private static final String CACHE_NAME = "productCatalog";
+
+	private final int maxEntries;
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+	private final Map<Object, Product> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public ProductCatalogCache(int maxEntries) {
+		this(maxEntries, new SimpleMeterRegistry());
+	}
+
+	public ProductCatalogCache(int maxEntries, MeterRegistry registry) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Product> eldest) {
+				if (size() > ProductCatalogCache.this.maxEntries) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+		lookupCounter(registry, "hit", hits);
+		lookupCounter(registry, "miss", misses);
+		FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+				.tag("cache", CACHE_NAME)
+				.description("Products dropped from the lookup cache to stay within its size")
+				.register(registry);
+		Gauge.builder("cache.size", this, ProductCatalogCache::size)
+				.tag("cache", CACHE_NAME)
+				.description("Products held in the lookup cache")
+				.register(registry);
+	}
+
+	public List<Product> getAll(Supplier<List<Product>> loader) {
+		Snapshot current = snapshot.get();
+		if (current != null && current.version == version.get()) {
+			hits.increment();
+			return copies(current.products);
+		}
+		misses.increment();
+		long loadVersion = version.get();
+		List<Product> loaded = loader.get();
+		List<Product> products = loaded == null ? List.of() : copies(loaded);
+		Snapshot fresh = new Snapshot(loadVersion, products);
+		if (version.get() == loadVersion) {
+			snapshot.compareAndSet(current, fresh);
+		}
+		return copies(products);
+	}
+
+	public Product getById(int id, IntFunction<Product> loader) {
+		return get(id, key -> loader.apply(id));
+	}
+
+	public Product getByName(String name, Function<String, Product> loader) {
+		if (name == null) {
+			return loader.apply(null);
+		}
+		return get(new NameKey(name), key -> loader.apply(name));
+	}
+
+	public void invalidate() {
+		synchronized (entries) {
+			version.incrementAndGet();
+			snapshot.set(null);
+			entries.clear();
+		}
+	}
+
+	public long getVersion() {
+		return version.get();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private Product get(Object key, Function<Object, Product> loader) {
+		long loadVersion;
+		synchronized (entries) {
+			Product cached = entries.get(key);
+			if (cached != null) {
+				hits.increment();
+				return cached.copy();
+			}
+			loadVersion = version.get();
+		}
+		misses.increment();
+		Product loaded = loader.apply(key);
+		if (loaded != null) {
+			synchronized (entries) {
+				if (version.get() == loadVersion) {
+					entries.put(key, loaded.copy());
+				}
+			}
+		}
+		return loaded;
+	}
+
+	private static void lookupCounter(MeterRegistry registry, String result, LongAdder count) {
+		FunctionCounter.builder("cache.gets", count, LongAdder::sum)
+				.tag("cache", CACHE_NAME)
+				.tag("result", result)
+				.description("Catalog and product lookups, by whether the cache answered them")
+				.register(registry);
+	}
+
+	private static List<Product> copies(List<Product> products) {
+		List<Product> copies = new ArrayList<>(products.size());
+		for (Product product : products) {
+			copies.add(product != null ? product.copy() : null);
+		}
+		return Collections.unmodifiableList(copies);
+	}
+
+	private static final class Snapshot {
+		private final long version;
+		private final List<Product> products;
+
+		private Snapshot(long version, List<Product> products) {
+			this.version = version;
+			this.products = products;
+		}
+	}
+
+	private static final class NameKey {
+		private final String name;
+
+		private NameKey(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof NameKey && ((NameKey) other).name.equals(name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.example.demo.features.product.service;
+
+public class ProductChangedEvent {
+	private final int productId;
+
+	public ProductChangedEvent(int productId) {
+		this.productId = productId;
+	}
+
+	public int getProductId() {
+		return productId;
+	}
+}
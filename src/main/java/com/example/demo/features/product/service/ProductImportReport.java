@@ -0,0 +1,88 @@
+package com.example.demo.features.product.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ProductImportReport {
+
+	private static final int MAX_REPORTED_ERRORS = 100;
+
+	private long processed;
+	private long imported;
+	private long rejected;
+	private String failure;
+	private final List<RowError> errors = new ArrayList<>();
+
+	void rowAccepted() {
+		processed++;
+	}
+
+	void rowRejected(long row, String message) {
+		processed++;
+		rejected++;
+		addError(row, message);
+	}
+
+	void batchWritten(int count) {
+		imported += count;
+	}
+
+	void batchRejected(long firstRow, int count, String message) {
+		rejected += count;
+		addError(firstRow, message);
+	}
+
+	private void addError(long row, String message) {
+		if (errors.size() < MAX_REPORTED_ERRORS) {
+			errors.add(new RowError(row, message));
+		}
+	}
+
+	void failed(String message) {
+		this.failure = message;
+	}
+
+	public long getProcessed() {
+		return processed;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public boolean isCompleted() {
+		return failure == null;
+	}
+
+	public String getFailure() {
+		return failure;
+	}
+
+	// Only the first MAX_REPORTED_ERRORS rejections are listed; getRejected() has the full count.
+	public List<RowError> getErrors() {
+		return Collections.unmodifiableList(errors);
+	}
+
+	public static class RowError {
+		private final long row;
+		private final String message;
+
+		RowError(long row, String message) {
+			this.row = row;
+			this.message = message;
+		}
+
+		public long getRow() {
+			return row;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
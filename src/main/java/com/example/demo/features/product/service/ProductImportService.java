@@ -0,0 +1,467 @@
+package com.example.demo.features.product.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.product.model.NutritionProfile;
+import com.example.demo.features.product.model.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streams products from CSV or JSON into the catalog. Input is parsed one record at a time and written in
+ * batches of {@code product.import.batch-size}, so memory use is bounded by the batch rather than the file.
+ * Invalid rows are skipped and listed in the report; a batch the database refuses is reported as a whole.
+ * Batches written before a malformed document is detected stay committed.
+ */
+@Component
+public class ProductImportService
+{
+	private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+	static final String NAME = "name";
+	static final String DESCRIPTION = "description";
+	static final String PRICE = "price";
+	static final String SERVING_SIZE = "servingsize";
+	static final String INITIAL_STOCK = "initialstock";
+	static final String CALORIES = "calories";
+	static final String PROTEIN = "protein";
+	static final String CARBS = "carbs";
+	static final String FAT = "fat";
+
+	private static final int MAX_NAME_LENGTH = 255;
+
+	private final ProductBatchWriter batchWriter;
+	private final ProductServices productServices;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int batchSize;
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	@Autowired
+	public ProductImportService(ProductBatchWriter batchWriter, ProductServices productServices,
+			ApplicationEventPublisher eventPublisher, @Value("${product.import.batch-size:500}") int batchSize)
+	{
+		if (batchSize <= 0)
+		{
+			throw new IllegalArgumentException("Import batch size must be positive");
+		}
+		this.batchWriter = batchWriter;
+		this.productServices = productServices;
+		this.eventPublisher = eventPublisher;
+		this.batchSize = batchSize;
+	}
+
+	public ProductImportReport importCsv(Reader reader) throws IOException
+	{
+		ImportRun run = new ImportRun();
+		try
+		{
+			CsvRecordReader records = new CsvRecordReader(
+					reader instanceof BufferedReader ? reader : new BufferedReader(reader));
+			List<String> header = records.next();
+			if (header == null)
+			{
+				run.report.failed("CSV input is empty");
+				return run.finish();
+			}
+			List<String> columns = new ArrayList<>(header.size());
+			for (String column : header)
+			{
+				columns.add(column.trim().toLowerCase(Locale.ROOT));
+			}
+			if (!columns.contains(NAME) || !columns.contains(PRICE))
+			{
+				run.report.failed("CSV header must include name and price columns");
+				return run.finish();
+			}
+			List<String> values;
+			while ((values = records.next()) != null)
+			{
+				long row = records.getRecordLine();
+				if (values.size() != columns.size())
+				{
+					run.rejected(row, "Expected " + columns.size() + " fields but found " + values.size());
+					continue;
+				}
+				Map<String, String> fields = new HashMap<>();
+				for (int i = 0; i < columns.size(); i++)
+				{
+					fields.put(columns.get(i), values.get(i));
+				}
+				run.accept(row, fields);
+			}
+		}
+		catch (IllegalArgumentException e)
+		{
+			run.report.failed(e.getMessage());
+		}
+		return run.finish();
+	}
+
+	public ProductImportReport importJson(InputStream input) throws IOException
+	{
+		ImportRun run = new ImportRun();
+		try (JsonParser parser = this.jsonFactory.createParser(input))
+		{
+			if (parser.nextToken() != JsonToken.START_ARRAY)
+			{
+				run.report.failed("JSON input must be an array of products");
+				return run.finish();
+			}
+			long row = 0;
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY)
+			{
+				if (token == null)
+				{
+					run.report.failed("JSON input ended before the closing bracket");
+					return run.finish();
+				}
+				row++;
+				if (token != JsonToken.START_OBJECT)
+				{
+					parser.skipChildren();
+					run.rejected(row, "Expected an object");
+					continue;
+				}
+				run.accept(row, readObject(parser));
+			}
+		}
+		catch (JsonProcessingException e)
+		{
+			run.report.failed("Malformed JSON: " + e.getOriginalMessage());
+		}
+		return run.finish();
+	}
+
+	private Map<String, String> readObject(JsonParser parser) throws IOException
+	{
+		Map<String, String> fields = new HashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME)
+		{
+			String field = parser.currentName().toLowerCase(Locale.ROOT);
+			JsonToken value = parser.nextToken();
+			if (value.isScalarValue())
+			{
+				fields.put(field, value == JsonToken.VALUE_NULL ? null : parser.getText());
+			}
+			else
+			{
+				parser.skipChildren();
+				fields.put(field, "");
+			}
+		}
+		return fields;
+	}
+
+	static Product toProduct(Map<String, String> fields)
+	{
+		String name = text(fields.get(NAME));
+		if (name == null)
+		{
+			throw new IllegalArgumentException("name is required");
+		}
+		if (name.length() > MAX_NAME_LENGTH)
+		{
+			throw new IllegalArgumentException("name is longer than " + MAX_NAME_LENGTH + " characters");
+		}
+		Product product = new Product();
+		product.setPname(name);
+		product.setPdescription(text(fields.get(DESCRIPTION)));
+		Double price = decimal(fields, PRICE);
+		if (price == null)
+		{
+			throw new IllegalArgumentException("price is required");
+		}
+		product.setPprice(price);
+		Integer servingSize = whole(fields, SERVING_SIZE);
+		if (servingSize != null)
+		{
+			if (servingSize < 1)
+			{
+				throw new IllegalArgumentException("servingSize must be at least 1");
+			}
+			product.setDefaultServingSize(servingSize);
+		}
+		Integer initialStock = whole(fields, INITIAL_STOCK);
+		if (initialStock != null)
+		{
+			product.setInitialStock(initialStock);
+		}
+		Double calories = decimal(fields, CALORIES);
+		Double protein = decimal(fields, PROTEIN);
+		Double carbs = decimal(fields, CARBS);
+		Double fat = decimal(fields, FAT);
+		if (calories != null || protein != null || carbs != null || fat != null)
+		{
+			NutritionProfile profile = new NutritionProfile();
+			profile.setCaloriesPerServing(calories == null ? 0 : calories);
+			profile.setProteinGrams(protein == null ? 0 : protein);
+			profile.setCarbohydrateGrams(carbs == null ? 0 : carbs);
+			profile.setFatGrams(fat == null ? 0 : fat);
+			product.setNutritionProfile(profile);
+		}
+		return product;
+	}
+
+	private static String text(String value)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+		String trimmed = value.trim();
+		return trimmed.isEmpty() ? null : trimmed;
+	}
+
+	private static Double decimal(Map<String, String> fields, String field)
+	{
+		String value = text(fields.get(field));
+		if (value == null)
+		{
+			return null;
+		}
+		double parsed;
+		try
+		{
+			parsed = Double.parseDouble(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException(field + " is not a number: " + value);
+		}
+		if (!Double.isFinite(parsed) || parsed < 0)
+		{
+			throw new IllegalArgumentException(field + " must be a non-negative number");
+		}
+		return parsed;
+	}
+
+	private static Integer whole(Map<String, String> fields, String field)
+	{
+		String value = text(fields.get(field));
+		if (value == null)
+		{
+			return null;
+		}
+		int parsed;
+		try
+		{
+			parsed = Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException(field + " is not a whole number: " + value);
+		}
+		if (parsed < 0)
+		{
+			throw new IllegalArgumentException(field + " must not be negative");
+		}
+		return parsed;
+	}
+
+	private final class ImportRun
+	{
+		private final ProductImportReport report = new ProductImportReport();
+		private final List<Product> batch = new ArrayList<>(batchSize);
+		private long batchFirstRow;
+
+		void accept(long row, Map<String, String> fields)
+		{
+			Product product;
+			try
+			{
+				product = toProduct(fields);
+			}
+			catch (IllegalArgumentException e)
+			{
+				rejected(row, e.getMessage());
+				return;
+			}
+			if (this.batch.isEmpty())
+			{
+				this.batchFirstRow = row;
+			}
+			this.batch.add(product);
+			this.report.rowAccepted();
+			if (this.batch.size() >= batchSize)
+			{
+				flush();
+			}
+		}
+
+		void rejected(long row, String message)
+		{
+			this.report.rowRejected(row, message);
+		}
+
+		ProductImportReport finish()
+		{
+			flush();
+			if (this.report.getImported() > 0)
+			{
+				productServices.getCatalogCache().invalidate();
+				eventPublisher.publishEvent(new ProductsImportedEvent(this.report.getImported()));
+			}
+			log.info("Product import finished: {} processed, {} imported, {} rejected{}",
+					this.report.getProcessed(), this.report.getImported(), this.report.getRejected(),
+					this.report.isCompleted() ? "" : " (" + this.report.getFailure() + ")");
+			return this.report;
+		}
+
+		private void flush()
+		{
+			if (this.batch.isEmpty())
+			{
+				return;
+			}
+			int size = this.batch.size();
+			try
+			{
+				batchWriter.write(this.batch);
+				this.report.batchWritten(size);
+			}
+			catch (RuntimeException e)
+			{
+				log.warn("Product import batch starting at row {} failed", this.batchFirstRow, e);
+				this.report.batchRejected(this.batchFirstRow, size,
+						"Batch of " + size + " rows starting here was not saved: " + e.getMessage());
+			}
+			this.batch.clear();
+			log.info("Product import progress: {} processed, {} imported, {} rejected", this.report.getProcessed(),
+					this.report.getImported(), this.report.getRejected());
+		}
+	}
+
+	/**
+	 * Minimal RFC 4180 reader: quoted fields may contain separators, doubled quotes and line breaks.
+	 */
+	static final class CsvRecordReader
+	{
+		private final Reader reader;
+		private final StringBuilder field = new StringBuilder();
+		private long line = 1;
+		private long recordLine;
+		private int pending = -2;
+
+		CsvRecordReader(Reader reader)
+		{
+			this.reader = reader;
+		}
+
+		long getRecordLine()
+		{
+			return this.recordLine;
+		}
+
+		List<String> next() throws IOException
+		{
+			int c = read();
+			while (c == '\n' || c == '\r')
+			{
+				c = read();
+			}
+			if (c == -1)
+			{
+				return null;
+			}
+			this.recordLine = this.line;
+			List<String> values = new ArrayList<>();
+			this.field.setLength(0);
+			boolean quoted = false;
+			boolean fieldStart = true;
+			while (true)
+			{
+				if (quoted)
+				{
+					if (c == -1)
+					{
+						throw new IllegalArgumentException("Unterminated quoted field starting on line " + this.recordLine);
+					}
+					if (c == '"')
+					{
+						int following = read();
+						if (following == '"')
+						{
+							this.field.append('"');
+						}
+						else
+						{
+							quoted = false;
+							c = following;
+							continue;
+						}
+					}
+					else
+					{
+						this.field.append((char) c);
+					}
+				}
+				else if (c == '"' && fieldStart)
+				{
+					quoted = true;
+				}
+				else if (c == ',')
+				{
+					values.add(this.field.toString());
+					this.field.setLength(0);
+					fieldStart = true;
+					c = read();
+					continue;
+				}
+				else if (c == '\n' || c == '\r' || c == -1)
+				{
+					if (c == '\r')
+					{
+						int following = read();
+						if (following != '\n')
+						{
+							this.pending = following;
+						}
+					}
+					values.add(this.field.toString());
+					return values;
+				}
+				else
+				{
+					this.field.append((char) c);
+				}
+				fieldStart = false;
+				c = read();
+			}
+		}
+
+		private int read() throws IOException
+		{
+			int c;
+			if (this.pending != -2)
+			{
+				c = this.pending;
+				this.pending = -2;
+				return c;
+			}
+			c = this.reader.read();
+			if (c == '\n')
+			{
+				this.line++;
+			}
+			return c;
+		}
+	}
+}
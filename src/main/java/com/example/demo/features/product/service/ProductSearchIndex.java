@@ -0,0 +1,521 @@
+package com.example.demo.features.product.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.repository.ProductRepository;
+
+/**
+ * In-memory search over product names and descriptions. Tokens live in a sorted map, so a prefix is a
+ * sub-map range, and each token's postings are primitive arrays of document slots. Misspellings are
+ * matched through a trigram index over the token vocabulary rather than over products, which keeps fuzzy
+ * lookups proportional to the number of distinct words. Scores are accumulated in slot-indexed arrays
+ * borrowed from a small pool, so a query allocates little beyond its results even when every request runs
+ * on a fresh virtual thread. The index is loaded on first use and
+ * afterwards kept current one product at a time from ProductChangedEvent; a bulk import marks it for
+ * reloading instead. Updates read the database and tokenize before taking the write lock, so a search
+ * only ever waits for postings to be swapped in, never for a query.
+ */
+@Component
+public class ProductSearchIndex {
+
+	private static final byte NAME = 1;
+	private static final byte DESCRIPTION = 2;
+	private static final int MIN_PREFIX_LENGTH = 2;
+	private static final int MIN_FUZZY_LENGTH = 3;
+	private static final double MIN_FUZZY_SIMILARITY = 0.5;
+	private static final int MAX_IDLE_SCRATCH = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	private final ProductRepository productRepository;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	// Orders updates among themselves, so two edits of one product are read and applied in turn, without
+	// holding the lock searches take.
+	private final ReentrantLock updateLock = new ReentrantLock();
+	// Not a ThreadLocal: with a virtual thread per request every search would start from empty buffers.
+	private final BlockingQueue<Scratch> idleScratch = new ArrayBlockingQueue<>(MAX_IDLE_SCRATCH);
+
+	private Contents contents = new Contents();
+	private volatile boolean loaded;
+
+	@Autowired
+	public ProductSearchIndex(ProductRepository productRepository) {
+		this.productRepository = productRepository;
+	}
+
+	public List<ProductSearchResult> search(String query, int limit) {
+		List<String> queryTokens = tokenize(query);
+		if (queryTokens.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		ensureLoaded();
+		Scratch work = borrowScratch();
+		lock.readLock().lock();
+		try {
+			Contents index = contents;
+			work.beginQuery(index.slotCount);
+			for (String token : queryTokens) {
+				work.beginToken();
+				Postings exact = index.postings.get(token);
+				if (exact != null) {
+					work.collect(exact, 3.0);
+				}
+				if (token.length() >= MIN_PREFIX_LENGTH) {
+					for (Postings matches : index.postings.subMap(token, false, token + Character.MAX_VALUE, false)
+							.values()) {
+						work.collect(matches, 2.0);
+					}
+				}
+				if (isFuzzyCandidate(token) && work.tokenTouched < limit) {
+					collectFuzzy(token, work, index);
+				}
+				work.endToken();
+			}
+			return rank(work, limit, index.documents);
+		} finally {
+			lock.readLock().unlock();
+			// A full pool means more searches ran at once than usually do; the extra buffers are dropped.
+			idleScratch.offer(work);
+		}
+	}
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		updateLock.lock();
+		try {
+			if (!loaded) {
+				return;
+			}
+			Document document = productRepository.findById(event.getProductId()).map(Document::new).orElse(null);
+			lock.writeLock().lock();
+			try {
+				contents.remove(event.getProductId());
+				if (document != null) {
+					contents.add(document);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} finally {
+			updateLock.unlock();
+		}
+	}
+
+	// A bulk import can add thousands of rows; reloading once on the next search is cheaper than
+	// applying them one event at a time.
+	@EventListener
+	public void onProductsImported(ProductsImportedEvent event) {
+		updateLock.lock();
+		try {
+			loaded = false;
+		} finally {
+			updateLock.unlock();
+		}
+	}
+
+	// Searches keep using the current contents until the rebuilt ones are complete.
+	public void rebuild() {
+		updateLock.lock();
+		try {
+			Contents rebuilt = new Contents();
+			for (Product product : productRepository.findAll()) {
+				if (product != null) {
+					rebuilt.add(new Document(product));
+				}
+			}
+			lock.writeLock().lock();
+			try {
+				contents = rebuilt;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			loaded = true;
+		} finally {
+			updateLock.unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return contents.slotsById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	int idleScratchCount() {
+		return idleScratch.size();
+	}
+
+	private Scratch borrowScratch() {
+		Scratch work = idleScratch.poll();
+		return work != null ? work : new Scratch();
+	}
+
+	private void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		updateLock.lock();
+		try {
+			if (!loaded) {
+				rebuild();
+			}
+		} finally {
+			updateLock.unlock();
+		}
+	}
+
+	private void collectFuzzy(String token, Scratch work, Contents index) {
+		Set<String> queryGrams = trigramsOf(token);
+		Map<String, Integer> shared = new HashMap<>();
+		for (String gram : queryGrams) {
+			Set<String> words = index.trigrams.get(gram);
+			if (words != null) {
+				for (String word : words) {
+					shared.merge(word, 1, Integer::sum);
+				}
+			}
+		}
+		for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+			String word = candidate.getKey();
+			if (word.startsWith(token)) {
+				continue;
+			}
+			Postings matches = index.postings.get(word);
+			double similarity = 2.0 * candidate.getValue() / (queryGrams.size() + matches.trigramCount);
+			if (similarity >= MIN_FUZZY_SIMILARITY) {
+				work.collect(matches, 1.5 * similarity);
+			}
+		}
+	}
+
+	// Keeps the best `limit` slots in a min-heap whose root is the weakest hit kept so far.
+	private static List<ProductSearchResult> rank(Scratch work, int limit, Document[] documents) {
+		int[] heap = new int[Math.min(limit, work.queryTouched)];
+		int size = 0;
+		for (int i = 0; i < work.queryTouched; i++) {
+			int slot = work.queryHits[i];
+			if (size < heap.length) {
+				heap[size] = slot;
+				siftUp(heap, size++, work, documents);
+			} else if (ranksAbove(slot, heap[0], work, documents)) {
+				heap[0] = slot;
+				siftDown(heap, size, work, documents);
+			}
+		}
+		List<ProductSearchResult> results = new ArrayList<>(size);
+		while (size > 0) {
+			int slot = heap[0];
+			heap[0] = heap[--size];
+			siftDown(heap, size, work, documents);
+			Document document = documents[slot];
+			results.add(new ProductSearchResult(document.id, document.name, document.description, document.price,
+					work.total[slot]));
+		}
+		Collections.reverse(results);
+		return results;
+	}
+
+	private static boolean ranksAbove(int a, int b, Scratch work, Document[] documents) {
+		int byScore = Double.compare(work.total[a], work.total[b]);
+		if (byScore != 0) {
+			return byScore > 0;
+		}
+		int byLength = Integer.compare(documents[a].nameLength, documents[b].nameLength);
+		if (byLength != 0) {
+			return byLength < 0;
+		}
+		return documents[a].id < documents[b].id;
+	}
+
+	private static void siftUp(int[] heap, int index, Scratch work, Document[] documents) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!ranksAbove(heap[parent], heap[index], work, documents)) {
+				break;
+			}
+			swap(heap, parent, index);
+			index = parent;
+		}
+	}
+
+	private static void siftDown(int[] heap, int size, Scratch work, Document[] documents) {
+		int index = 0;
+		while (true) {
+			int weakest = index;
+			int left = 2 * index + 1;
+			int right = left + 1;
+			if (left < size && ranksAbove(heap[weakest], heap[left], work, documents)) {
+				weakest = left;
+			}
+			if (right < size && ranksAbove(heap[weakest], heap[right], work, documents)) {
+				weakest = right;
+			}
+			if (weakest == index) {
+				return;
+			}
+			swap(heap, index, weakest);
+			index = weakest;
+		}
+	}
+
+	private static void swap(int[] heap, int i, int j) {
+		int tmp = heap[i];
+		heap[i] = heap[j];
+		heap[j] = tmp;
+	}
+
+	static List<String> tokenize(String text) {
+		if (text == null || text.isEmpty()) {
+			return List.of();
+		}
+		List<String> tokens = new ArrayList<>();
+		String lower = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for (int i = 0; i <= lower.length(); i++) {
+			boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				tokens.add(lower.substring(start, i));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	// Numbers and codes are matched exactly or by prefix only; a near miss on a number is a different number.
+	static boolean isFuzzyCandidate(String token) {
+		if (token.length() < MIN_FUZZY_LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < token.length(); i++) {
+			if (!Character.isLetter(token.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static Set<String> trigramsOf(String token) {
+		String padded = "$" + token + "$";
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			grams.add(padded.substring(i, i + 3));
+		}
+		return grams;
+	}
+
+	// Documents and postings. Updated in place under the write lock, or built off to the side by rebuild and
+	// swapped in whole.
+	private static final class Contents {
+		private final Map<Integer, Integer> slotsById = new HashMap<>();
+		private Document[] documents = new Document[64];
+		private int[] freeSlots = new int[16];
+		private int freeCount;
+		private int slotCount;
+
+		private final TreeMap<String, Postings> postings = new TreeMap<>();
+		private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+		private void add(Document document) {
+			int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+			if (slot == documents.length) {
+				documents = Arrays.copyOf(documents, slot * 2);
+			}
+			documents[slot] = document;
+			slotsById.put(document.id, slot);
+			for (String token : document.nameTokens) {
+				index(token, slot, NAME);
+			}
+			for (String token : document.descriptionTokens) {
+				index(token, slot, DESCRIPTION);
+			}
+		}
+
+		private void index(String token, int slot, byte field) {
+			Postings matches = postings.get(token);
+			if (matches == null) {
+				Set<String> grams = isFuzzyCandidate(token) ? trigramsOf(token) : Set.of();
+				matches = new Postings(grams.size());
+				postings.put(token, matches);
+				for (String gram : grams) {
+					trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+				}
+			}
+			matches.add(slot, field);
+		}
+
+		private void remove(int id) {
+			Integer slot = slotsById.remove(id);
+			if (slot == null) {
+				return;
+			}
+			Document document = documents[slot];
+			Set<String> tokens = new HashSet<>(document.nameTokens);
+			tokens.addAll(document.descriptionTokens);
+			for (String token : tokens) {
+				Postings matches = postings.get(token);
+				if (matches == null || !matches.remove(slot) || matches.size > 0) {
+					continue;
+				}
+				postings.remove(token);
+				if (!isFuzzyCandidate(token)) {
+					continue;
+				}
+				for (String gram : trigramsOf(token)) {
+					Set<String> words = trigrams.get(gram);
+					if (words != null && words.remove(token) && words.isEmpty()) {
+						trigrams.remove(gram);
+					}
+				}
+			}
+			documents[slot] = null;
+			if (freeCount == freeSlots.length) {
+				freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+			}
+			freeSlots[freeCount++] = slot;
+		}
+	}
+
+	private static final class Document {
+		private final int id;
+		private final String name;
+		private final String description;
+		private final double price;
+		private final int nameLength;
+		private final List<String> nameTokens;
+		private final List<String> descriptionTokens;
+
+		private Document(Product product) {
+			this.id = product.getPid();
+			this.name = product.getPname();
+			this.description = product.getPdescription();
+			this.price = product.getPprice();
+			this.nameLength = name != null ? name.length() : 0;
+			this.nameTokens = tokenize(name);
+			this.descriptionTokens = tokenize(description);
+		}
+	}
+
+	// Slots holding one token, with the fields (name and/or description) it occurs in for each slot.
+	private static final class Postings {
+		private final int trigramCount;
+		private int[] slots = new int[2];
+		private byte[] fields = new byte[2];
+		private int size;
+
+		private Postings(int trigramCount) {
+			this.trigramCount = trigramCount;
+		}
+
+		private void add(int slot, byte field) {
+			if (size > 0 && slots[size - 1] == slot) {
+				fields[size - 1] |= field;
+				return;
+			}
+			for (int i = 0; i < size; i++) {
+				if (slots[i] == slot) {
+					fields[i] |= field;
+					return;
+				}
+			}
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+				fields = Arrays.copyOf(fields, size * 2);
+			}
+			slots[size] = slot;
+			fields[size] = field;
+			size++;
+		}
+
+		private boolean remove(int slot) {
+			for (int i = 0; i < size; i++) {
+				if (slots[i] == slot) {
+					size--;
+					slots[i] = slots[size];
+					fields[i] = fields[size];
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	// Score buffers for one search at a time. Stamps mark which entries belong to the current query or token, so the
+	// arrays never need clearing between searches.
+	private static final class Scratch {
+		private double[] total = new double[0];
+		private double[] best = new double[0];
+		private int[] queryStamp = new int[0];
+		private int[] tokenStamp = new int[0];
+		private int[] queryHits = new int[0];
+		private int[] tokenHits = new int[0];
+		private int queryGeneration;
+		private int tokenGeneration;
+		private int queryTouched;
+		private int tokenTouched;
+
+		private void beginQuery(int capacity) {
+			if (total.length < capacity) {
+				total = new double[capacity];
+				best = new double[capacity];
+				queryStamp = new int[capacity];
+				tokenStamp = new int[capacity];
+				queryHits = new int[capacity];
+				tokenHits = new int[capacity];
+			}
+			queryGeneration++;
+			queryTouched = 0;
+		}
+
+		private void beginToken() {
+			tokenGeneration++;
+			tokenTouched = 0;
+		}
+
+		private void collect(Postings matches, double weight) {
+			for (int i = 0; i < matches.size; i++) {
+				int slot = matches.slots[i];
+				double score = (matches.fields[i] & NAME) != 0 ? weight : weight / 2;
+				if (tokenStamp[slot] != tokenGeneration) {
+					tokenStamp[slot] = tokenGeneration;
+					best[slot] = score;
+					tokenHits[tokenTouched++] = slot;
+				} else if (score > best[slot]) {
+					best[slot] = score;
+				}
+			}
+		}
+
+		private void endToken() {
+			for (int i = 0; i < tokenTouched; i++) {
+				int slot = tokenHits[i];
+				if (queryStamp[slot] != queryGeneration) {
+					queryStamp[slot] = queryGeneration;
+					total[slot] = 0;
+					queryHits[queryTouched++] = slot;
+				}
+				total[slot] += best[slot];
+			}
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.example.demo.features.product.service;
+
+public class ProductSearchResult {
+	private final int productId;
+	private final String name;
+	private final String description;
+	private final double price;
+	private final double score;
+
+	public ProductSearchResult(int productId, String name, String description, double price, double score) {
+		this.productId = productId;
+		this.name = name;
+		this.description = description;
+		this.price = price;
+		this.score = score;
+	}
+
+	public int getProductId() {
+		return productId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public double getPrice() {
+		return price;
+	}
+
+	public double getScore() {
+		return score;
+	}
+}
@@ -4,32 +4,70 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.features.product.model.Product;
 import com.example.demo.features.product.repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
 @Component
 public class ProductServices 
 {
+	private static final int CACHED_PRODUCT_LIMIT = 512;
+
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final ProductCatalogCache catalogCache;
+	private final String catalogEpoch = Long.toString(System.currentTimeMillis(), 36);
+
+	public ProductServices()
+	{
+		this.catalogCache = new ProductCatalogCache(CACHED_PRODUCT_LIMIT);
+	}
+
+	@Autowired
+	public ProductServices(MeterRegistry registry)
+	{
+		this.catalogCache = new ProductCatalogCache(CACHED_PRODUCT_LIMIT, registry);
+	}
+
 	public void addProduct(Product p)
 	{
-		this.productRepository.save(p);
+		try
+		{
+			this.productRepository.save(p);
+		}
+		finally
+		{
+			this.catalogCache.invalidate();
+			publishChanged(p.getPid());
+		}
 	}
 
 	public List<Product> getAllProducts()
 	{
-		List<Product> products=(List<Product>)this.productRepository.findAll();
-		return products;
+		return this.catalogCache.getAll(() -> (List<Product>)this.productRepository.findAll());
+	}
+
+	public Page<Product> getProducts(Pageable pageable)
+	{
+		return this.productRepository.findAll(pageable);
 	}
 
 	public Product getProduct(int id)
 	{
-		Optional<Product> optional = this.productRepository.findById(id);
-		Product product=optional.get();
-		return product;
+		return this.catalogCache.getById(id, key -> {
+			Optional<Product> optional = this.productRepository.findById(key);
+			Product product=optional.get();
+			return product;
+		});
 	}
 
 	public void updateproduct(Product p,int id)
@@ -40,18 +78,34 @@ public class ProductServices
 
 		if(prod.getPid()==id)
 		{
-			this.productRepository.save(p);				
+			try
+			{
+				this.productRepository.save(p);
+			}
+			finally
+			{
+				this.catalogCache.invalidate();
+				publishChanged(id);
+			}
 		}
 	}
 	public void deleteProduct(int id)
 	{
-		this.productRepository.deleteById(id);
+		try
+		{
+			this.productRepository.deleteById(id);
+		}
+		finally
+		{
+			this.catalogCache.invalidate();
+			publishChanged(id);
+		}
 	}
 
 	public Product getProductByName(String name)
 	{
 		
-		Product product= this.productRepository.findByPname(name);
+		Product product= this.catalogCache.getByName(name, this.productRepository::findByPname);
 		if(product!=null)
 		{
 			return product;
@@ -59,4 +113,24 @@ public class ProductServices
 		return null;
 	
 	}
+
+	private void publishChanged(int id)
+	{
+		if(this.eventPublisher!=null)
+		{
+			this.eventPublisher.publishEvent(new ProductChangedEvent(id));
+		}
+	}
+
+	// Changes on every catalog mutation. The cache version restarts at zero with the process, so the start time
+	// is part of the tag to keep a tag issued before a restart or redeploy from matching afterwards.
+	public String getCatalogTag()
+	{
+		return this.catalogEpoch + "-" + this.catalogCache.getVersion();
+	}
+
+	public ProductCatalogCache getCatalogCache()
+	{
+		return this.catalogCache;
+	}
 }
@@ -0,0 +1,13 @@
+package com.example.demo.features.product.service;
+
+public class ProductsImportedEvent {
+	private final long importedCount;
+
+	public ProductsImportedEvent(long importedCount) {
+		this.importedCount = importedCount;
+	}
+
+	public long getImportedCount() {
+		return importedCount;
+	}
+}
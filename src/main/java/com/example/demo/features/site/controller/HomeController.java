@@ -6,8 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.example.demo.features.admin.dto.AdminLogin;
+import com.example.demo.features.product.controller.CatalogCaching;
 import com.example.demo.features.product.model.Product;
 import com.example.demo.features.product.service.ProductServices;
 
@@ -16,6 +18,8 @@ public class HomeController
 {
 	@Autowired
 	private ProductServices productServices;
+	@Autowired
+	private CatalogCaching catalogCaching;
 	@GetMapping(value = {"/home", "/"})
 	public String home()
 	{
@@ -23,8 +27,12 @@ public class HomeController
 	}
 
 	@GetMapping("/products")
-	public String products( Model model)
+	public String products(ServletWebRequest request, Model model)
 	{ 
+		if (this.catalogCaching.checkNotModified(request))
+		{
+			return null;
+		}
 		List<Product> allProducts = this.productServices.getAllProducts();
 		model.addAttribute("products", allProducts);
 		return "Products";
@@ -7,13 +7,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 import com.example.demo.features.order.model.Orders;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_uemail", columnList = "uemail", unique = true))
 public class User 
 {
 	@Id
@@ -72,7 +73,7 @@ public class User
 	@Override
 	public String toString() {
 		return "User [u_id=" + u_id + ", uname=" + uname + ", uemail=" + uemail + ", upassword=" + upassword
-				+ ", unumber=" + unumber + ", orders=" + orders + "]";
+				+ ", unumber=" + unumber + "]";
 	}
 	
 
@@ -0,0 +1,8 @@
+package com.example.demo.features.user.repository;
+
+public interface UserCredentials
+{
+	int getId();
+	String getEmail();
+	String getPassword();
+}
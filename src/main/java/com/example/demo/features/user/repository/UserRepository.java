@@ -1,10 +1,23 @@
 package com.example.demo.features.user.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.features.user.model.User;
 
-public interface UserRepository extends CrudRepository<User,Integer>
+public interface UserRepository extends CrudRepository<User,Integer>, PagingAndSortingRepository<User,Integer>
 {
 public User findUserByUemail(String email);
+
+	@Query("select u.u_id as id, u.uemail as email, u.upassword as password from User u where u.uemail = :email")
+	public UserCredentials findCredentialsByUemail(@Param("email") String email);
+
+	@Modifying
+	@Transactional
+	@Query("update User u set u.upassword = :password where u.u_id = :id")
+	public int updatePassword(@Param("id") int id, @Param("password") String password);
 }
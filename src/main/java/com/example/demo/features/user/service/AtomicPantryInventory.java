@@ -0,0 +1,165 @@
+package com.example.demo.features.user.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.product.model.Product;
+
+/**
+ * Pantry that reserves with a compare-and-set on a per-item counter, so concurrent planners can never
+ * oversell. An item's stock is split over a few padded stripes; a reservation takes its servings from a
+ * single stripe and starts at a random one, which keeps threads working on a hot item off the same cache
+ * line. When servings are spread too thin for any one stripe, the item is consolidated under its monitor
+ * before the reservation is refused.
+ */
+@Component
+@Primary
+public class AtomicPantryInventory implements PantryInventory {
+
+	private static final int MAX_STRIPES = 8;
+	private static final int PADDING = 16;
+
+	private final int stripes;
+	private final ConcurrentMap<Integer, Item> stock = new ConcurrentHashMap<>();
+
+	public AtomicPantryInventory() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public AtomicPantryInventory(int stripes) {
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("Stripe count must be positive");
+		}
+		this.stripes = Math.min(stripes, MAX_STRIPES);
+	}
+
+	@Override
+	public boolean hasIngredients(Product product) {
+		if (product == null) {
+			return false;
+		}
+		return itemFor(product).available() >= requestedServings(product);
+	}
+
+	@Override
+	public void reserve(Product product) {
+		tryReserve(product);
+	}
+
+	@Override
+	public boolean tryReserve(Product product) {
+		if (product == null) {
+			return false;
+		}
+		return itemFor(product).tryTake(requestedServings(product));
+	}
+
+	@Override
+	public PantryInventory openScope() {
+		AtomicPantryInventory scope = new AtomicPantryInventory(stripes);
+		stock.forEach((id, item) -> scope.stock.put(id, new Item(item.available(), item.servingsPerMeal, stripes)));
+		return scope;
+	}
+
+	public int getAvailableServings(int productId) {
+		Item item = stock.get(productId);
+		return item != null ? item.available() : 0;
+	}
+
+	private Item itemFor(Product product) {
+		return stock.computeIfAbsent(product.getPid(), id -> createItem(product));
+	}
+
+	private Item createItem(Product product) {
+		int initialStock = product.getInitialStock();
+		int servingsPerMeal = requestedServings(product);
+		if (initialStock <= 0) {
+			initialStock = servingsPerMeal * 7;
+		}
+		return new Item(initialStock, servingsPerMeal, stripes);
+	}
+
+	private int requestedServings(Product product) {
+		int servings = product.getDefaultServingSize();
+		return servings > 0 ? servings : 1;
+	}
+
+	private static final class Item {
+		private final int servingsPerMeal;
+		private final int stripeCount;
+		private final AtomicIntegerArray counters;
+
+		private Item(int servings, int servingsPerMeal, int maxStripes) {
+			this.servingsPerMeal = servingsPerMeal;
+			int meals = servings / servingsPerMeal;
+			this.stripeCount = Math.max(1, Math.min(maxStripes, meals));
+			this.counters = new AtomicIntegerArray(stripeCount * PADDING);
+			// Whole meals are dealt round-robin so every stripe can serve the usual request on its own.
+			for (int stripe = 0; stripe < stripeCount; stripe++) {
+				int share = meals / stripeCount + (stripe < meals % stripeCount ? 1 : 0);
+				counters.set(stripe * PADDING, share * servingsPerMeal);
+			}
+			counters.addAndGet(0, servings - meals * servingsPerMeal);
+		}
+
+		int available() {
+			int total = 0;
+			for (int stripe = 0; stripe < stripeCount; stripe++) {
+				total += counters.get(stripe * PADDING);
+			}
+			return total;
+		}
+
+		boolean tryTake(int servings) {
+			if (servings <= 0) {
+				return true;
+			}
+			if (tryTakeFromStripes(servings)) {
+				return true;
+			}
+			if (stripeCount == 1) {
+				return false;
+			}
+			synchronized (this) {
+				if (tryTakeFromStripes(servings)) {
+					return true;
+				}
+				int drained = 0;
+				for (int stripe = 1; stripe < stripeCount; stripe++) {
+					drained += counters.getAndSet(stripe * PADDING, 0);
+				}
+				counters.addAndGet(0, drained);
+				return takeFrom(0, servings);
+			}
+		}
+
+		private boolean tryTakeFromStripes(int servings) {
+			int start = stripeCount == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripeCount);
+			for (int i = 0; i < stripeCount; i++) {
+				int stripe = start + i < stripeCount ? start + i : start + i - stripeCount;
+				if (takeFrom(stripe, servings)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean takeFrom(int stripe, int servings) {
+			int index = stripe * PADDING;
+			while (true) {
+				int current = counters.get(index);
+				if (current < servings) {
+					return false;
+				}
+				if (counters.compareAndSet(index, current, current - servings)) {
+					return true;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package com.example.demo.features.user.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.service.ProductChangedEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Memoizes another estimator's results per product id. Estimates are held in an open-addressing
+ * int-to-double table, so lookups neither box keys nor allocate. Products that have not been persisted
+ * yet (non-positive id) are always delegated. Entries are dropped when ProductServices reports a change,
+ * and an estimate computed across an invalidation is returned but not stored.
+ */
+@Component
+@Primary
+public class CachingCalorieEstimator implements CalorieEstimator {
+
+	private static final int EMPTY = 0;
+	private static final int INITIAL_CAPACITY = 64;
+	private static final String CACHE_NAME = "calorieEstimates";
+
+	private final CalorieEstimator delegate;
+	private final StampedLock lock = new StampedLock();
+
+	private Table table = new Table(INITIAL_CAPACITY);
+	private int size;
+	private long generation;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	@Autowired
+	public CachingCalorieEstimator(NutritionBasedCalorieEstimator delegate, MeterRegistry registry) {
+		this((CalorieEstimator) delegate, registry);
+	}
+
+	public CachingCalorieEstimator(CalorieEstimator delegate) {
+		this(delegate, new SimpleMeterRegistry());
+	}
+
+	public CachingCalorieEstimator(CalorieEstimator delegate, MeterRegistry registry) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Delegate estimator is required");
+		}
+		this.delegate = delegate;
+		lookupCounter(registry, "hit", hits);
+		lookupCounter(registry, "miss", misses);
+		Gauge.builder("cache.hit.ratio", this, CachingCalorieEstimator::getHitRate)
+				.tag("cache", CACHE_NAME)
+				.description("Share of calorie estimates answered from the cache since startup")
+				.register(registry);
+		Gauge.builder("cache.size", this, CachingCalorieEstimator::size)
+				.tag("cache", CACHE_NAME)
+				.description("Products with a cached calorie estimate")
+				.register(registry);
+	}
+
+	@Override
+	public double estimateCalories(Product product) {
+		if (product == null || product.getPid() <= 0) {
+			return delegate.estimateCalories(product);
+		}
+		int pid = product.getPid();
+		// The table is read once so its keys and values always have the same length, even when a resize
+		// races this read; the probe result is only trusted once the stamp validates.
+		long stamp = lock.tryOptimisticRead();
+		Table current = table;
+		long loadGeneration = generation;
+		int slot = find(current.keys, pid);
+		double cached = slot >= 0 ? current.values[slot] : 0.0;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				loadGeneration = generation;
+				slot = find(table.keys, pid);
+				cached = slot >= 0 ? table.values[slot] : 0.0;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		if (slot >= 0) {
+			hits.increment();
+			return cached;
+		}
+		misses.increment();
+		double estimate = delegate.estimateCalories(product);
+		stamp = lock.writeLock();
+		try {
+			if (generation == loadGeneration) {
+				put(pid, estimate);
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+		return estimate;
+	}
+
+	@EventListener
+	public void onProductChanged(ProductChangedEvent event) {
+		invalidate(event.getProductId());
+	}
+
+	public void invalidate(int pid) {
+		long stamp = lock.writeLock();
+		try {
+			generation++;
+			remove(pid);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public void invalidateAll() {
+		long stamp = lock.writeLock();
+		try {
+			generation++;
+			table = new Table(INITIAL_CAPACITY);
+			size = 0;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public double getHitRate() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0.0 : (double) hitCount / total;
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private static void lookupCounter(MeterRegistry registry, String result, LongAdder count) {
+		FunctionCounter.builder("cache.gets", count, LongAdder::sum)
+				.tag("cache", CACHE_NAME)
+				.tag("result", result)
+				.description("Calorie estimates for saved products, by whether the cache answered them")
+				.register(registry);
+	}
+
+	// Bounded by the table length so a probe over a table torn by a concurrent writer still terminates;
+	// the caller discards the result when the optimistic stamp no longer validates.
+	private static int find(int[] table, int pid) {
+		int mask = table.length - 1;
+		int slot = mix(pid) & mask;
+		for (int probes = 0; probes < table.length; probes++) {
+			int key = table[slot];
+			if (key == pid) {
+				return slot;
+			}
+			if (key == EMPTY) {
+				return -1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void put(int pid, double estimate) {
+		if ((size + 1) * 2 > table.keys.length) {
+			resize(table.keys.length * 2);
+		}
+		int[] keys = table.keys;
+		double[] values = table.values;
+		int mask = keys.length - 1;
+		int slot = mix(pid) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != pid) {
+			slot = (slot + 1) & mask;
+		}
+		if (keys[slot] == EMPTY) {
+			size++;
+		}
+		keys[slot] = pid;
+		values[slot] = estimate;
+	}
+
+	// Backward-shift deletion keeps every remaining key reachable from its home slot without tombstones.
+	private void remove(int pid) {
+		int[] keys = table.keys;
+		double[] values = table.values;
+		int slot = find(keys, pid);
+		if (slot < 0) {
+			return;
+		}
+		int mask = keys.length - 1;
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while (keys[next] != EMPTY) {
+			int home = mix(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[gap] = EMPTY;
+		values[gap] = 0.0;
+		size--;
+	}
+
+	private void resize(int capacity) {
+		int[] oldKeys = table.keys;
+		double[] oldValues = table.values;
+		Table resized = new Table(capacity);
+		int[] newKeys = resized.keys;
+		double[] newValues = resized.values;
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = mix(oldKeys[i]) & mask;
+				while (newKeys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				newKeys[slot] = oldKeys[i];
+				newValues[slot] = oldValues[i];
+			}
+		}
+		table = resized;
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static final class Table {
+		private final int[] keys;
+		private final double[] values;
+
+		private Table(int capacity) {
+			this.keys = new int[capacity];
+			this.values = new double[capacity];
+		}
+	}
+}
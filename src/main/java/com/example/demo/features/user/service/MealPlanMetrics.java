@@ -0,0 +1,85 @@
+package com.example.demo.features.user.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Component
+public class MealPlanMetrics {
+
+	private final Clock clock;
+	private final Timer singlePlanTimer;
+	private final Timer batchTimer;
+	private final DistributionSummary batchSize;
+	private final Counter singleFailures;
+	private final Counter batchFailures;
+
+	@Autowired
+	public MealPlanMetrics(MeterRegistry registry) {
+		this.clock = registry.config().clock();
+		this.singlePlanTimer = generationTimer(registry, "single");
+		this.batchTimer = generationTimer(registry, "batch");
+		this.batchSize = DistributionSummary.builder("mealplan.batch.size")
+				.description("Requests per batch meal-plan call")
+				.publishPercentileHistogram()
+				.minimumExpectedValue(1.0)
+				.maximumExpectedValue(1_000.0)
+				.register(registry);
+		this.singleFailures = failureCounter(registry, "single");
+		this.batchFailures = failureCounter(registry, "batch");
+	}
+
+	public static MealPlanMetrics detached() {
+		return new MealPlanMetrics(new SimpleMeterRegistry());
+	}
+
+	long start() {
+		return clock.monotonicTime();
+	}
+
+	void planGenerated(long started) {
+		singlePlanTimer.record(clock.monotonicTime() - started, TimeUnit.NANOSECONDS);
+	}
+
+	void planFailed(long started) {
+		planGenerated(started);
+		singleFailures.increment();
+	}
+
+	// In batch mode the failure counter counts plans: each request that failed on its own, or every request
+	// of a batch that failed as a whole.
+	void batchGenerated(long started, int requests, int failedRequests) {
+		batchTimer.record(clock.monotonicTime() - started, TimeUnit.NANOSECONDS);
+		batchSize.record(requests);
+		if (failedRequests > 0) {
+			batchFailures.increment(failedRequests);
+		}
+	}
+
+	void batchFailed(long started, int requests) {
+		batchGenerated(started, requests, requests);
+	}
+
+	private static Timer generationTimer(MeterRegistry registry, String mode) {
+		return Timer.builder("mealplan.generation.duration")
+				.description("Time spent generating weekly meal plans")
+				.tag("mode", mode)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	private static Counter failureCounter(MeterRegistry registry, String mode) {
+		return Counter.builder("mealplan.generation.failures")
+				.description("Meal-plan generations that ended in an exception")
+				.tag("mode", mode)
+				.register(registry);
+	}
+}
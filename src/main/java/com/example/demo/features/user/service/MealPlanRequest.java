@@ -0,0 +1,19 @@
+package com.example.demo.features.user.service;
+
+public class MealPlanRequest {
+	private final double dailyCalorieTarget;
+	private final int mealsPerDay;
+
+	public MealPlanRequest(double dailyCalorieTarget, int mealsPerDay) {
+		this.dailyCalorieTarget = dailyCalorieTarget;
+		this.mealsPerDay = mealsPerDay;
+	}
+
+	public double getDailyCalorieTarget() {
+		return dailyCalorieTarget;
+	}
+
+	public int getMealsPerDay() {
+		return mealsPerDay;
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.demo.features.user.service;
+
+// The outcome of one request in a batch: either its plan, or why that request alone could not be planned.
+public class MealPlanResult {
+
+	private final MealPlanRequest request;
+	private final MealPlan plan;
+	private final String error;
+
+	private MealPlanResult(MealPlanRequest request, MealPlan plan, String error) {
+		this.request = request;
+		this.plan = plan;
+		this.error = error;
+	}
+
+	public static MealPlanResult planned(MealPlanRequest request, MealPlan plan) {
+		return new MealPlanResult(request, plan, null);
+	}
+
+	public static MealPlanResult failed(MealPlanRequest request, String error) {
+		return new MealPlanResult(request, null, error);
+	}
+
+	public boolean isSuccessful() {
+		return plan != null;
+	}
+
+	public MealPlanRequest getRequest() {
+		return request;
+	}
+
+	public MealPlan getPlan() {
+		return plan;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
@@ -2,11 +2,14 @@ package com.example.demo.features.user.service;
 
 import java.time.DayOfWeek;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -18,36 +21,146 @@ import com.example.demo.features.product.service.ProductServices;
 public class MealPlanService {
 
 	private static final int MAX_OCCURRENCES_PER_PRODUCT_PER_WEEK = 3;
+	private static final int PARALLEL_SCORING_THRESHOLD = 2_048;
+	private static final Comparator<ProductScore> BY_SCORE = (a, b) -> Double.compare(a.score, b.score);
 
 	private final ProductServices productServices;
 	private final CalorieEstimator calorieEstimator;
 	private final PantryInventory pantryInventory;
+	private final MealPlanMetrics metrics;
 
-	@Autowired
 	public MealPlanService(ProductServices productServices, CalorieEstimator calorieEstimator,
 			PantryInventory pantryInventory) {
+		this(productServices, calorieEstimator, pantryInventory, MealPlanMetrics.detached());
+	}
+
+	@Autowired
+	public MealPlanService(ProductServices productServices, CalorieEstimator calorieEstimator,
+			PantryInventory pantryInventory, MealPlanMetrics metrics) {
 		this.productServices = productServices;
 		this.calorieEstimator = calorieEstimator;
 		this.pantryInventory = pantryInventory;
+		this.metrics = metrics;
 	}
 
 	public MealPlan generateWeeklyPlan(double dailyCalorieTarget, int mealsPerDay) {
+		long started = metrics.start();
+		try {
+			MealPlan plan = buildWeeklyPlan(dailyCalorieTarget, mealsPerDay);
+			metrics.planGenerated(started);
+			return plan;
+		} catch (RuntimeException e) {
+			metrics.planFailed(started);
+			throw e;
+		}
+	}
+
+	// One result per request, in order. A request that is invalid or cannot be filled fails on its own; only
+	// a problem shared by the whole batch, such as an empty catalog, is thrown.
+	public List<MealPlanResult> generateWeeklyPlans(List<MealPlanRequest> requests) {
+		if (requests == null || requests.isEmpty()) {
+			return List.of();
+		}
+		long started = metrics.start();
+		try {
+			List<MealPlanResult> results = buildWeeklyPlans(requests);
+			int failed = 0;
+			for (MealPlanResult result : results) {
+				if (!result.isSuccessful()) {
+					failed++;
+				}
+			}
+			metrics.batchGenerated(started, requests.size(), failed);
+			return results;
+		} catch (RuntimeException e) {
+			metrics.batchFailed(started, requests.size());
+			throw e;
+		}
+	}
+
+	private MealPlan buildWeeklyPlan(double dailyCalorieTarget, int mealsPerDay) {
+		validate(dailyCalorieTarget, mealsPerDay);
+		Product[] catalog = loadCatalog();
+		double targetPerMeal = dailyCalorieTarget / mealsPerDay;
+		ProductScore[] scoredProducts = rankProducts(catalog, estimateCalories(catalog), targetPerMeal);
+		return planWeek(scoredProducts, mealsPerDay, pantryInventory);
+	}
+
+	private List<MealPlanResult> buildWeeklyPlans(List<MealPlanRequest> requests) {
+		MealPlanResult[] results = new MealPlanResult[requests.size()];
+		boolean anyValid = false;
+		for (int i = 0; i < requests.size(); i++) {
+			MealPlanRequest request = requests.get(i);
+			try {
+				if (request == null) {
+					throw new IllegalArgumentException("Meal plan request is required");
+				}
+				validate(request.getDailyCalorieTarget(), request.getMealsPerDay());
+				anyValid = true;
+			} catch (IllegalArgumentException e) {
+				results[i] = MealPlanResult.failed(request, e.getMessage());
+			}
+		}
+		if (!anyValid) {
+			return Arrays.asList(results);
+		}
+		Product[] catalog = loadCatalog();
+		double[] calories = estimateCalories(catalog);
+
+		Map<Double, ProductScore[]> rankings = new HashMap<>();
+		PantryInventory[] scopes = new PantryInventory[requests.size()];
+		for (int i = 0; i < requests.size(); i++) {
+			if (results[i] == null) {
+				double targetPerMeal = targetPerMeal(requests.get(i));
+				rankings.computeIfAbsent(targetPerMeal, target -> rankProducts(catalog, calories, target));
+				scopes[i] = pantryInventory.openScope();
+			}
+		}
+
+		IntStream.range(0, requests.size())
+				.parallel()
+				.filter(i -> results[i] == null)
+				.forEach(i -> {
+					MealPlanRequest request = requests.get(i);
+					try {
+						MealPlan plan = planWeek(rankings.get(targetPerMeal(request)), request.getMealsPerDay(),
+								scopes[i]);
+						results[i] = MealPlanResult.planned(request, plan);
+					} catch (RuntimeException e) {
+						results[i] = MealPlanResult.failed(request, e.getMessage());
+					}
+				});
+		return Arrays.asList(results);
+	}
+
+	private void validate(double dailyCalorieTarget, int mealsPerDay) {
 		if (dailyCalorieTarget <= 0) {
 			throw new IllegalArgumentException("Daily calorie target must be positive");
 		}
 		if (mealsPerDay <= 0) {
 			throw new IllegalArgumentException("Meals per day must be positive");
 		}
+	}
+
+	private static double targetPerMeal(MealPlanRequest request) {
+		return request.getDailyCalorieTarget() / request.getMealsPerDay();
+	}
+
+	private Product[] loadCatalog() {
 		List<Product> products = productServices.getAllProducts();
 		if (products == null || products.isEmpty()) {
 			throw new IllegalStateException("No products available for planning");
 		}
-		double targetPerMeal = dailyCalorieTarget / mealsPerDay;
-		List<ProductScore> scoredProducts = scoreProducts(products, targetPerMeal);
+		return products.stream().filter(Objects::nonNull).toArray(Product[]::new);
+	}
+
+	private MealPlan planWeek(ProductScore[] scoredProducts, int mealsPerDay, PantryInventory inventory) {
+		CandidateList candidates = new CandidateList(scoredProducts.length);
 		Map<DayOfWeek, List<MealEntry>> plan = new EnumMap<>(DayOfWeek.class);
 		Map<Integer, Integer> weeklyUsage = new HashMap<>();
 		for (DayOfWeek day : DayOfWeek.values()) {
-			List<MealEntry> dayMeals = selectMealsForDay(scoredProducts, mealsPerDay, weeklyUsage);
+			List<MealEntry> dayMeals = selectMealsForDay(scoredProducts, candidates, mealsPerDay, weeklyUsage,
+					inventory);
 			if (dayMeals.size() < mealsPerDay) {
 				throw new IllegalStateException("Unable to fulfill meal plan due to limited inventory");
 			}
@@ -56,20 +169,27 @@ public class MealPlanService {
 		return new MealPlan(plan);
 	}
 
-	private List<MealEntry> selectMealsForDay(List<ProductScore> scoredProducts, int mealsPerDay,
-			Map<Integer, Integer> weeklyUsage) {
-		List<MealEntry> dayMeals = new ArrayList<>();
-		for (ProductScore productScore : scoredProducts) {
+	// Walks the remaining candidates in score order. A product the pantry cannot fulfil, or one that has
+	// reached its weekly limit, cannot become viable again later in the week (reservations only draw stock
+	// down), so it is unlinked and never visited on the following days.
+	private List<MealEntry> selectMealsForDay(ProductScore[] scoredProducts, CandidateList candidates,
+			int mealsPerDay, Map<Integer, Integer> weeklyUsage, PantryInventory inventory) {
+		List<MealEntry> dayMeals = new ArrayList<>(mealsPerDay);
+		int previous = CandidateList.HEAD;
+		for (int index = candidates.first(); index != CandidateList.END; index = candidates.next(index)) {
+			ProductScore productScore = scoredProducts[index];
 			Product product = productScore.product;
-			if (!pantryInventory.hasIngredients(product)) {
-				continue;
-			}
-			if (hasExceededWeeklyUsage(product, weeklyUsage)) {
+			if (hasExceededWeeklyUsage(product, weeklyUsage) || !inventory.tryReserve(product)) {
+				candidates.unlink(previous, index);
 				continue;
 			}
-			pantryInventory.reserve(product);
 			dayMeals.add(new MealEntry(product.getPid(), product.getPname(), productScore.estimatedCalories));
 			incrementUsage(product, weeklyUsage);
+			if (hasExceededWeeklyUsage(product, weeklyUsage)) {
+				candidates.unlink(previous, index);
+			} else {
+				previous = index;
+			}
 			if (dayMeals.size() == mealsPerDay) {
 				break;
 			}
@@ -87,20 +207,57 @@ public class MealPlanService {
 		weeklyUsage.put(product.getPid(), current + 1);
 	}
 
-	private List<ProductScore> scoreProducts(List<Product> products, double targetPerMeal) {
-		List<ProductScore> scored = new ArrayList<>();
-		for (Product product : products) {
-			if (Objects.isNull(product)) {
-				continue;
-			}
-			double calories = calorieEstimator.estimateCalories(product);
-			double score = Math.abs(targetPerMeal - calories);
-			scored.add(new ProductScore(product, calories, score));
+	private double[] estimateCalories(Product[] products) {
+		double[] calories = new double[products.length];
+		IntStream indexes = IntStream.range(0, products.length);
+		if (products.length >= PARALLEL_SCORING_THRESHOLD) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(i -> calories[i] = calorieEstimator.estimateCalories(products[i]));
+		return calories;
+	}
+
+	private ProductScore[] rankProducts(Product[] products, double[] calories, double targetPerMeal) {
+		ProductScore[] scored = new ProductScore[products.length];
+		for (int i = 0; i < products.length; i++) {
+			scored[i] = new ProductScore(products[i], calories[i], Math.abs(targetPerMeal - calories[i]));
 		}
-		scored.sort((a, b) -> Double.compare(a.score, b.score));
+		Arrays.parallelSort(scored, BY_SCORE);
 		return scored;
 	}
 
+	private static final class CandidateList {
+		private static final int HEAD = -1;
+		private static final int END = -2;
+
+		private final int[] next;
+		private int first;
+
+		private CandidateList(int size) {
+			next = new int[size];
+			for (int i = 0; i < size; i++) {
+				next[i] = i + 1 < size ? i + 1 : END;
+			}
+			first = size > 0 ? 0 : END;
+		}
+
+		private int first() {
+			return first;
+		}
+
+		private int next(int index) {
+			return next[index];
+		}
+
+		private void unlink(int previous, int index) {
+			if (previous == HEAD) {
+				first = next[index];
+			} else {
+				next[previous] = next[index];
+			}
+		}
+	}
+
 	private static final class ProductScore {
 		private final Product product;
 		private final double estimatedCalories;
@@ -1,13 +1,11 @@
 package com.example.demo.features.user.service;
 
-import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.features.product.model.NutritionProfile;
 import com.example.demo.features.product.model.Product;
 
 @Component
-@Profile("!prod")
 public class NutritionBasedCalorieEstimator implements CalorieEstimator {
 
     @Override
@@ -5,4 +5,19 @@ import com.example.demo.features.product.model.Product;
 public interface PantryInventory {
 	boolean hasIngredients(Product product);
 	void reserve(Product product);
+
+	// Checks and reserves as one step. Implementations shared between threads should override this so the
+	// check cannot be separated from the reservation.
+	default boolean tryReserve(Product product) {
+		if (!hasIngredients(product)) {
+			return false;
+		}
+		reserve(product);
+		return true;
+	}
+
+	// Returns an inventory seeded from the current stock whose reservations stay private to the caller.
+	// Stateless implementations can share themselves; anything that tracks stock must return a new instance,
+	// which is why there is no default.
+	PantryInventory openScope();
 }
@@ -3,13 +3,11 @@ package com.example.demo.features.user.service;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import com.example.demo.features.product.model.Product;
 
 @Component
-@Profile("!prod")
 public class SimplePantryInventory implements PantryInventory {
 
 	private final ConcurrentMap<Integer, PantryItem> stock = new ConcurrentHashMap<>();
@@ -35,6 +33,32 @@ public class SimplePantryInventory implements PantryInventory {
 		});
 	}
 
+	@Override
+	public boolean tryReserve(Product product) {
+		if (product == null) {
+			return false;
+		}
+		int servings = requestedServings(product);
+		boolean[] reserved = new boolean[1];
+		stock.compute(product.getPid(), (id, item) -> {
+			PantryItem current = item != null ? item : createItem(product);
+			if (current.canFulfill(servings)) {
+				current.reserve(servings);
+				reserved[0] = true;
+			}
+			return current;
+		});
+		return reserved[0];
+	}
+
+	@Override
+	public PantryInventory openScope() {
+		SimplePantryInventory scope = new SimplePantryInventory();
+		stock.forEach((id, item) -> scope.stock.put(id, new PantryItem(item.getProductId(), item.getProductName(),
+				item.getAvailableServings(), item.getMinimumReserve())));
+		return scope;
+	}
+
 	private PantryItem createItem(Product product) {
 		int initialStock = product.getInitialStock();
 		int servingsPerMeal = requestedServings(product);
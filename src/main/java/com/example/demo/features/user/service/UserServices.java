@@ -4,9 +4,15 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import com.example.demo.core.security.PasswordHasher;
+import com.example.demo.core.security.PasswordHasher.Verification;
+import com.example.demo.core.security.PasswordHasherBusyException;
 import com.example.demo.features.user.model.User;
+import com.example.demo.features.user.repository.UserCredentials;
 import com.example.demo.features.user.repository.UserRepository;
 
 @Component
@@ -15,12 +21,20 @@ public class UserServices
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private PasswordHasher passwordHasher;
+
 	public List<User> getAllUser()
 	{
 		List<User> users = (List<User>) this.userRepository.findAll();
 		return users;
 	}
 
+	public Page<User> getUsers(Pageable pageable)
+	{
+		return this.userRepository.findAll(pageable);
+	}
+
 	public User getUser(int id)
 	{
 		Optional<User> optional = this.userRepository.findById(id);
@@ -36,6 +50,7 @@ public class UserServices
 	public void updateUser(User user,int id)
 	{
 		user.setU_id(id);
+		hashPassword(user);
 		 this.userRepository.save(user);
 	}
 
@@ -46,20 +61,45 @@ public class UserServices
 
 	public void addUser(User user)
 	{
+	hashPassword(user);
 	this.userRepository.save(user);
 	}
 	
 	public boolean validateLoginCredentials(String email,String password)
 	{
-		List<User> users = (List<User>) this.userRepository.findAll();
-		for(User u:users)
+		if(email==null || password==null)
 		{
-		if(u!=null && u.getUpassword().equals(password) && u.getUemail().equals(email))
+			return false;
+		}
+		UserCredentials credentials = this.userRepository.findCredentialsByUemail(email);
+		if(credentials==null || !email.equals(credentials.getEmail()))
 		{
-			return true;
+			this.passwordHasher.verifyUnknownAccount(password);
+			return false;
 		}
+		Verification verification = this.passwordHasher.verify(password, credentials.getPassword());
+		if(verification==Verification.MATCH_NEEDS_UPGRADE)
+		{
+			try
+			{
+				this.userRepository.updatePassword(credentials.getId(), this.passwordHasher.hash(password));
+			}
+			catch(PasswordHasherBusyException e)
+			{
+				// The password already matched; the upgrade is tried again on the next login.
+			}
+		}
+		return verification!=Verification.NO_MATCH;
+	}
+
+	// Forms may post back a hash that was already stored; only plaintext is hashed.
+	private void hashPassword(User user)
+	{
+		String password = user.getUpassword();
+		if(password!=null && !this.passwordHasher.isHashed(password))
+		{
+			user.setUpassword(this.passwordHasher.hash(password));
 		}
-		return false;
 	}
 	
 
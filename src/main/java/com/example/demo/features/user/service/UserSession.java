@@ -0,0 +1,54 @@
+package com.example.demo.features.user.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.SessionScope;
+
+import com.example.demo.features.order.dto.OrderHistoryPage;
+import com.example.demo.features.user.model.User;
+
+/**
+ * The signed-in customer for one HTTP session. Holds the user looked up at login and the first page of
+ * their order history, so later page loads in the same session need neither query again. The cached page
+ * is dropped when this session places an order; changes made elsewhere (an admin editing orders) show up
+ * after the next login.
+ */
+@Component
+@SessionScope
+public class UserSession {
+
+	private volatile User user;
+	private volatile OrderHistoryPage recentOrders;
+
+	public void signIn(User user) {
+		this.user = user;
+		this.recentOrders = null;
+	}
+
+	public boolean isSignedIn() {
+		return user != null;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public String getName() {
+		User current = user;
+		return current != null ? current.getUname() : null;
+	}
+
+	public OrderHistoryPage getRecentOrders(Supplier<OrderHistoryPage> loader) {
+		OrderHistoryPage cached = recentOrders;
+		if (cached == null) {
+			cached = loader.get();
+			recentOrders = cached;
+		}
+		return cached;
+	}
+
+	public void ordersChanged() {
+		this.recentOrders = null;
+	}
+}
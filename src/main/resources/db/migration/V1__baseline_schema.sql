@@ -0,0 +1,62 @@
+-- Baseline of the schema Hibernate generated under ddl-auto=update, written for MySQL 8.
+-- Column names follow Spring's camel-case-to-underscore naming strategy.
+
+CREATE TABLE admin (
+    admin_id       INT          NOT NULL AUTO_INCREMENT,
+    admin_name     VARCHAR(255),
+    admin_email    VARCHAR(255),
+    admin_password VARCHAR(255),
+    admin_number   VARCHAR(255),
+    PRIMARY KEY (admin_id)
+);
+
+CREATE TABLE users (
+    u_id      INT          NOT NULL AUTO_INCREMENT,
+    uname     VARCHAR(255),
+    uemail    VARCHAR(255),
+    upassword VARCHAR(255),
+    unumber   BIGINT,
+    PRIMARY KEY (u_id),
+    UNIQUE INDEX idx_users_uemail (uemail)
+);
+
+CREATE TABLE product_table (
+    pid                  INT          NOT NULL,
+    pname                VARCHAR(255),
+    pprice               DOUBLE       NOT NULL,
+    pdescription         VARCHAR(255),
+    default_serving_size INT          NOT NULL,
+    initial_stock        INT          NOT NULL,
+    calories_per_serving DOUBLE,
+    protein_grams        DOUBLE,
+    carbohydrate_grams   DOUBLE,
+    fat_grams            DOUBLE,
+    PRIMARY KEY (pid),
+    INDEX idx_product_pname (pname)
+);
+
+-- MySQL has no sequences; Hibernate emulates product_seq and orders_seq with single-row tables.
+CREATE TABLE product_seq (
+    next_val BIGINT
+);
+INSERT INTO product_seq (next_val) VALUES (1);
+
+-- Order history pages on (order_date, o_id), and a NULL date never satisfies the seek condition, so every
+-- order needs one.
+CREATE TABLE orders (
+    o_id         INT          NOT NULL,
+    o_name       VARCHAR(255),
+    o_price      DOUBLE       NOT NULL,
+    o_quantity   INT          NOT NULL,
+    order_date   DATETIME(6)  NOT NULL,
+    total_ammout DOUBLE       NOT NULL,
+    user_u_id    INT,
+    PRIMARY KEY (o_id),
+    INDEX idx_orders_user_date (user_u_id, order_date, o_id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_u_id) REFERENCES users (u_id)
+);
+
+CREATE TABLE orders_seq (
+    next_val BIGINT
+);
+INSERT INTO orders_seq (next_val) VALUES (1);
@@ -0,0 +1,8 @@
+-- Flyway callback, run once when baseline-on-migrate adopts a schema created by the old ddl-auto=update
+-- deployment (see application-prod.properties). Hibernate never tightens an existing column, so that schema
+-- still allows NULL order dates; bring it in line with V1. Rows written before dates were recorded get the
+-- epoch and sort as the oldest orders.
+
+UPDATE orders SET order_date = '1970-01-01 00:00:00' WHERE order_date IS NULL;
+
+ALTER TABLE orders MODIFY COLUMN order_date DATETIME(6) NOT NULL;
@@ -0,0 +1,48 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.features.order.service.HttpPaymentGateway;
+import com.example.demo.features.order.service.PaymentGateway;
+
+// The prod profile against H2 in MySQL mode: Flyway has to apply every migration and Hibernate has to
+// validate the entities against the result, with the production bean wiring.
+@SpringBootTest(properties = {
+		"spring.profiles.active=prod",
+		"spring.datasource.url=jdbc:h2:mem:prodsmoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.minimum-idle=1",
+		"payment.http.charge-url=http://127.0.0.1:9/charges" })
+class ProdProfileContextTests {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PaymentGateway paymentGateway;
+
+	@Test
+	void contextLoadsWithMigratedSchema() {
+		assertEquals(1, flyway.info().applied().length);
+		assertEquals("NO", new JdbcTemplate(dataSource).queryForObject(
+				"SELECT is_nullable FROM information_schema.columns WHERE table_name = 'orders' "
+						+ "AND column_name = 'order_date'", String.class));
+		assertInstanceOf(HttpPaymentGateway.class, paymentGateway);
+	}
+
+}
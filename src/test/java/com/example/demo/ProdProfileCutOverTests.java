@@ -0,0 +1,97 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// The first prod start against a database the old ddl-auto=update deployment created: tables and data but no
+// Flyway history. The schema is written before the context (and Flyway) starts.
+@SpringBootTest(properties = {
+		"spring.profiles.active=prod",
+		"spring.datasource.url=" + ProdProfileCutOverTests.URL,
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.minimum-idle=1",
+		"payment.http.charge-url=http://127.0.0.1:9/charges" })
+class ProdProfileCutOverTests {
+
+	static final String URL = "jdbc:h2:mem:prodcutover;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	// What Hibernate generated: the same tables as V1, but order_date still nullable.
+	private static final String[] LEGACY_SCHEMA = {
+			"CREATE TABLE admin (admin_id INT NOT NULL AUTO_INCREMENT, admin_name VARCHAR(255), "
+					+ "admin_email VARCHAR(255), admin_password VARCHAR(255), admin_number VARCHAR(255), "
+					+ "PRIMARY KEY (admin_id))",
+			"CREATE TABLE users (u_id INT NOT NULL AUTO_INCREMENT, uname VARCHAR(255), uemail VARCHAR(255), "
+					+ "upassword VARCHAR(255), unumber BIGINT, PRIMARY KEY (u_id), "
+					+ "UNIQUE INDEX idx_users_uemail (uemail))",
+			"CREATE TABLE product_table (pid INT NOT NULL, pname VARCHAR(255), pprice DOUBLE NOT NULL, "
+					+ "pdescription VARCHAR(255), default_serving_size INT NOT NULL, initial_stock INT NOT NULL, "
+					+ "calories_per_serving DOUBLE, protein_grams DOUBLE, carbohydrate_grams DOUBLE, "
+					+ "fat_grams DOUBLE, PRIMARY KEY (pid), INDEX idx_product_pname (pname))",
+			"CREATE TABLE product_seq (next_val BIGINT)",
+			"INSERT INTO product_seq (next_val) VALUES (1)",
+			"CREATE TABLE orders (o_id INT NOT NULL, o_name VARCHAR(255), o_price DOUBLE NOT NULL, "
+					+ "o_quantity INT NOT NULL, order_date DATETIME(6), total_ammout DOUBLE NOT NULL, "
+					+ "user_u_id INT, PRIMARY KEY (o_id), "
+					+ "INDEX idx_orders_user_date (user_u_id, order_date, o_id), "
+					+ "CONSTRAINT fk_orders_user FOREIGN KEY (user_u_id) REFERENCES users (u_id))",
+			"CREATE TABLE orders_seq (next_val BIGINT)",
+			"INSERT INTO orders_seq (next_val) VALUES (51)",
+			"INSERT INTO users (u_id, uname, uemail) VALUES (1, 'Legacy', 'legacy@example.com')",
+			"INSERT INTO orders (o_id, o_name, o_price, o_quantity, order_date, total_ammout, user_u_id) "
+					+ "VALUES (1, 'Apple', 2.0, 3, NULL, 6.0, 1)",
+			"INSERT INTO orders (o_id, o_name, o_price, o_quantity, order_date, total_ammout, user_u_id) "
+					+ "VALUES (2, 'Pear', 1.5, 2, '2024-05-01 12:00:00', 3.0, 1)" };
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeAll
+	static void createLegacySchema() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+				Statement statement = connection.createStatement()) {
+			for (String sql : LEGACY_SCHEMA) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	@Test
+	void baselinesExistingSchemaAndTightensOrderDate() {
+		MigrationInfo[] applied = flyway.info().applied();
+		assertEquals(1, applied.length);
+		assertEquals(CoreMigrationType.BASELINE, applied[0].getType());
+		assertEquals("1", applied[0].getVersion().getVersion());
+
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		assertEquals("NO", jdbc.queryForObject(
+				"SELECT is_nullable FROM information_schema.columns WHERE table_name = 'orders' "
+						+ "AND column_name = 'order_date'", String.class));
+		assertEquals(Timestamp.valueOf("1970-01-01 00:00:00"),
+				jdbc.queryForObject("SELECT order_date FROM orders WHERE o_id = 1", Timestamp.class));
+		assertEquals(Timestamp.valueOf("2024-05-01 12:00:00"),
+				jdbc.queryForObject("SELECT order_date FROM orders WHERE o_id = 2", Timestamp.class));
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.example.demo.core.build;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StaticAssetCompressorTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void compressAll_writesGzipVariantsForTextAssetsOnly() throws IOException {
+        Path css = write("css/site.css", ".card { margin: 0; padding: 0; }\n".repeat(50));
+        write("Images/photo.jpg", "not really a jpeg ".repeat(50));
+
+        assertEquals(1, StaticAssetCompressor.compressAll(root));
+
+        assertArrayEquals(Files.readAllBytes(css), gunzip(root.resolve("css/site.css.gz")));
+        assertFalse(Files.exists(root.resolve("Images/photo.jpg.gz")));
+    }
+
+    @Test
+    void compressAll_skipsUpToDateVariantsAndRefreshesStaleOnes() throws IOException {
+        Path js = write("JavaScript/app.js", "console.log('hello');\n".repeat(40));
+        StaticAssetCompressor.compressAll(root);
+
+        assertEquals(0, StaticAssetCompressor.compressAll(root));
+
+        Files.writeString(js, "console.log('changed');\n".repeat(40));
+        Files.setLastModifiedTime(js, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        assertEquals(1, StaticAssetCompressor.compressAll(root));
+        assertArrayEquals(Files.readAllBytes(js), gunzip(root.resolve("JavaScript/app.js.gz")));
+    }
+
+    @Test
+    void compressAll_leavesOutAssetsThatBarelyShrink() throws IOException {
+        write("css/tiny.css", "a{}");
+
+        assertEquals(0, StaticAssetCompressor.compressAll(root));
+
+        assertFalse(Files.exists(root.resolve("css/tiny.css.gz")));
+        assertFalse(Files.exists(root.resolve("css/tiny.css.gz.tmp")));
+    }
+
+    @Test
+    void main_toleratesMissingDirectory() throws IOException {
+        StaticAssetCompressor.main(new String[] { root.resolve("missing").toString() });
+
+        assertTrue(Files.notExists(root.resolve("missing")));
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.core.build;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StaticImageResizerTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void resizeAll_writesSmallerVariantsKeepingAspectRatio() throws IOException {
+        Path photo = jpeg("biryani/photo.jpg", 1000, 500);
+
+        assertEquals(2, StaticImageResizer.resizeAll(root));
+
+        BufferedImage small = ImageIO.read(root.resolve("biryani/photo-240w.jpg").toFile());
+        assertEquals(240, small.getWidth());
+        assertEquals(120, small.getHeight());
+        assertEquals(480, ImageIO.read(root.resolve("biryani/photo-480w.jpg").toFile()).getWidth());
+        assertTrue(Files.size(root.resolve("biryani/photo-240w.jpg")) < Files.size(photo));
+    }
+
+    @Test
+    void resizeAll_neverUpscalesAndIgnoresItsOwnVariants() throws IOException {
+        jpeg("small.jpg", 300, 300);
+
+        assertEquals(1, StaticImageResizer.resizeAll(root));
+        assertEquals(0, StaticImageResizer.resizeAll(root));
+
+        assertTrue(Files.exists(root.resolve("small-240w.jpg")));
+        assertFalse(Files.exists(root.resolve("small-480w.jpg")));
+        assertFalse(Files.exists(root.resolve("small-240w-240w.jpg")));
+    }
+
+    @Test
+    void resizeAll_refreshesStaleVariants() throws IOException {
+        Path photo = jpeg("photo.jpg", 800, 400);
+        StaticImageResizer.resizeAll(root);
+
+        ImageIO.write(new BufferedImage(600, 600, BufferedImage.TYPE_INT_RGB), "jpeg", photo.toFile());
+        Files.setLastModifiedTime(photo, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertEquals(2, StaticImageResizer.resizeAll(root));
+        assertEquals(240, ImageIO.read(root.resolve("photo-240w.jpg").toFile()).getHeight());
+    }
+
+    @Test
+    void resizeAll_skipsFilesThatAreNotImages() throws IOException {
+        Files.writeString(root.resolve("broken.jpg"), "not really a jpeg");
+
+        assertEquals(0, StaticImageResizer.resizeAll(root));
+
+        assertFalse(Files.exists(root.resolve("broken-240w.jpg")));
+    }
+
+    private Path jpeg(String relative, int width, int height) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 7) ^ (y * 13));
+            }
+        }
+        ImageIO.write(image, "jpeg", file.toFile());
+        return file;
+    }
+}
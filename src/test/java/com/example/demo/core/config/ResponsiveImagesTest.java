@@ -0,0 +1,77 @@
+package com.example.demo.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+class ResponsiveImagesTest {
+
+    private static final String HASH = "0123456789abcdef0123456789abcdef";
+
+    @TempDir
+    Path root;
+
+    private ResponsiveImages images;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ResourceUrlProvider urls = mock(ResourceUrlProvider.class);
+        when(urls.getForLookupPath("/Images/a-240w.jpg")).thenReturn("/Images/a-240w-" + HASH + ".jpg");
+        ObjectProvider<ResourceUrlProvider> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(urls);
+        String location = root.toUri().toString().replaceAll("/$", "");
+        images = new ResponsiveImages(new DefaultResourceLoader(), provider, location);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void srcset_listsOnlyVariantsThatExistWithFingerprintAndContextPath() throws IOException {
+        touch("Images/a-240w.jpg");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/shop");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals("/shop/Images/a-240w-" + HASH + ".jpg 240w", images.srcset("/Images/a.jpg"));
+    }
+
+    @Test
+    void srcset_fallsBackToPlainPathsWhenUrlIsNotVersioned() throws IOException {
+        touch("Images/b-240w.jpg");
+        touch("Images/b-480w.jpg");
+
+        assertEquals("/Images/b-240w.jpg 240w, /Images/b-480w.jpg 480w", images.srcset("/Images/b.jpg"));
+    }
+
+    @Test
+    void srcset_isNullWithoutVariantsSoTheAttributeIsDropped() {
+        assertNull(images.srcset("/Images/c.jpg"));
+        assertNull(images.srcset("/Images/noextension"));
+    }
+
+    private void touch(String relative) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[] { 1 });
+    }
+}
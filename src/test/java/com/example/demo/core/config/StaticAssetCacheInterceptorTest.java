@@ -0,0 +1,51 @@
+package com.example.demo.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+class StaticAssetCacheInterceptorTest {
+
+    private static final String CURRENT = "/css/Products-3fc6bdfd856e2bf58d99bbac92f2960a.css";
+
+    private StaticAssetCacheInterceptor interceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ResourceUrlProvider urls = mock(ResourceUrlProvider.class);
+        when(urls.getForLookupPath("/css/Products.css")).thenReturn(CURRENT);
+        ObjectProvider<ResourceUrlProvider> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(urls);
+        interceptor = new StaticAssetCacheInterceptor(provider);
+    }
+
+    @Test
+    void currentFingerprint_isCachedForAYearAsImmutable() {
+        assertEquals("max-age=31536000, public, immutable", cacheControlFor(CURRENT));
+    }
+
+    @Test
+    void plainPath_mustBeRevalidated() {
+        assertEquals("no-cache, public", cacheControlFor("/css/Products.css"));
+    }
+
+    @Test
+    void outdatedFingerprint_getsNoLongLivedHeader() {
+        assertNull(cacheControlFor("/css/Products-0123456789abcdef0123456789abcdef.css"));
+    }
+
+    private String cacheControlFor(String uri) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", uri), response, null);
+        return response.getHeader("Cache-Control");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.core.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadConfigTest {
+
+    private final VirtualThreadConfig config = new VirtualThreadConfig();
+
+    @Test
+    void customizer_handsTomcatTheVirtualThreadExecutor() throws Exception {
+        try (ExecutorService executor = config.virtualThreadRequestExecutor()) {
+            Http11NioProtocol protocol = new Http11NioProtocol();
+
+            config.virtualThreadProtocolHandlerCustomizer(executor).customize(protocol);
+
+            assertSame(executor, protocol.getExecutor());
+        }
+    }
+
+    @Test
+    void executor_runsEachTaskOnItsOwnVirtualThread() throws Exception {
+        try (ExecutorService executor = config.virtualThreadRequestExecutor()) {
+            Future<Thread> first = executor.submit(Thread::currentThread);
+            Future<Thread> second = executor.submit(Thread::currentThread);
+
+            assertTrue(first.get(5, TimeUnit.SECONDS).isVirtual());
+            assertTrue(first.get().getName().startsWith("http-vt-"));
+            assertNotSame(first.get(), second.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.core.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.demo.core.security.PasswordHasher.Verification;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 4, 5000);
+
+    @AfterEach
+    void shutDown() {
+        hasher.destroy();
+    }
+
+    @Test
+    void hash_producesSaltedBcryptThatVerifies() {
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+
+        assertTrue(hasher.isHashed(first));
+        assertNotEquals(first, second);
+        assertEquals(Verification.MATCH, hasher.verify("secret", first));
+        assertEquals(Verification.NO_MATCH, hasher.verify("Secret", first));
+    }
+
+    @Test
+    void verify_acceptsLegacyPlaintextButAsksForUpgrade() {
+        assertFalse(hasher.isHashed("1234"));
+        assertEquals(Verification.MATCH_NEEDS_UPGRADE, hasher.verify("1234", "1234"));
+        assertEquals(Verification.NO_MATCH, hasher.verify("12345", "1234"));
+        assertEquals(Verification.NO_MATCH, hasher.verify(null, "1234"));
+        assertEquals(Verification.NO_MATCH, hasher.verify("1234", null));
+    }
+
+    @Test
+    void verify_asksForUpgradeWhenConfiguredCostIsHigher() {
+        String weak = hasher.hash("secret");
+        PasswordHasher stronger = new PasswordHasher(new BCryptPasswordEncoder(5), 1, 4, 5000);
+        try {
+            assertEquals(Verification.MATCH_NEEDS_UPGRADE, stronger.verify("secret", weak));
+            assertEquals(Verification.MATCH, stronger.verify("secret", stronger.hash("secret")));
+        } finally {
+            stronger.destroy();
+        }
+    }
+
+    @Test
+    void verify_refusesWorkBeyondPoolAndQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("block".contentEquals(rawPassword)) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher bounded = new PasswordHasher(blocking, 1, 1, 5000);
+        try {
+            Thread busy = new Thread(() -> bounded.hash("block"));
+            busy.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread queued = new Thread(() -> bounded.hash("queued"));
+            queued.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bounded.getQueuedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHasherBusyException.class, () -> bounded.hash("refused"));
+            assertEquals(1, bounded.getRejectedCount());
+
+            release.countDown();
+            busy.join(5000);
+            queued.join(5000);
+        } finally {
+            release.countDown();
+            bounded.destroy();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.features.admin.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class DashboardPageLinksTest {
+
+    @Test
+    void page_replacesOneSectionAndKeepsSizeSortAndOtherPages() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/shop/admin/services");
+        request.setQueryString("users_page=2&users_size=50&users_sort=uname,desc&orders_page=1&orders_sort=orderDate");
+
+        DashboardPageLinks links = DashboardPageLinks.of(request);
+
+        assertEquals("/shop/admin/services?users_size=50&users_sort=uname,desc&orders_page=1"
+                + "&orders_sort=orderDate&users_page=3", links.page("users", 3));
+        assertEquals("/shop/admin/services?users_page=2&users_size=50&users_sort=uname,desc"
+                + "&orders_sort=orderDate&orders_page=0", links.page("orders", 0));
+    }
+
+    @Test
+    void page_addsTheParameterWhenTheDashboardWasOpenedWithoutOne() {
+        DashboardPageLinks links = new DashboardPageLinks("/admin/services", null);
+
+        assertEquals("/admin/services?products_page=1", links.page("products", 1));
+        assertEquals("/admin/services?admins_page=4", links.page("admins", 4));
+    }
+}
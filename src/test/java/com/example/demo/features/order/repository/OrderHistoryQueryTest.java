@@ -0,0 +1,104 @@
+package com.example.demo.features.order.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.demo.features.order.dto.OrderHistoryEntry;
+import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.user.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderHistoryQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+    private User buyer;
+    private final List<Integer> expectedOrder = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        buyer = new User("history@example.com", "secret");
+        entityManager.persist(buyer);
+        User other = new User("other@example.com", "secret");
+        entityManager.persist(other);
+
+        // Pairs of orders share a timestamp so paging has to fall back to the id to break ties.
+        List<Orders> placed = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Date date = new Date(1_700_000_000_000L + (i / 2) * 60_000L);
+            placed.add(persist(buyer, "Item " + i, date));
+            persist(other, "Other " + i, date);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        placed.stream()
+                .sorted((a, b) -> {
+                    int byDate = b.getOrderDate().compareTo(a.getOrderDate());
+                    return byDate != 0 ? byDate : Integer.compare(b.getoId(), a.getoId());
+                })
+                .forEach(order -> expectedOrder.add(order.getoId()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void history_seeksThroughOrdersNewestFirstWithoutGapsOrRepeats() {
+        List<Integer> seen = new ArrayList<>();
+        List<OrderHistoryEntry> page = orderRepository.findHistory(buyer.getU_id(), PageRequest.of(0, 3));
+        int queries = 1;
+        while (!page.isEmpty()) {
+            page.forEach(entry -> seen.add(entry.getoId()));
+            OrderHistoryEntry last = page.get(page.size() - 1);
+            page = orderRepository.findHistoryBefore(buyer.getU_id(), last.getOrderDate(), last.getoId(),
+                    PageRequest.of(0, 3));
+            queries++;
+        }
+
+        assertEquals(expectedOrder, seen);
+        assertEquals(queries, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void history_projectsLinesWithoutLoadingTheUser() {
+        List<OrderHistoryEntry> page = orderRepository.findHistory(buyer.getU_id(), PageRequest.of(0, 10));
+
+        assertEquals(7, page.size());
+        assertEquals(2.5, page.get(0).getTotalAmmout());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Orders persist(User user, String name, Date date) {
+        Orders order = new Orders();
+        order.setoName(name);
+        order.setoPrice(2.5);
+        order.setoQuantity(1);
+        order.setTotalAmmout(2.5);
+        order.setOrderDate(date);
+        order.setUser(user);
+        entityManager.persist(order);
+        return order;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.features.order.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.example.demo.features.order.model.Orders;
+import com.example.demo.features.user.model.User;
+import com.example.demo.features.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts the SQL each screen issues, so a mapping change that brings back per-row loading fails here.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryFetchPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private User firstUser;
+
+    @BeforeEach
+    void seed() {
+        for (int u = 0; u < 5; u++) {
+            User user = new User("fetch" + u + "@example.com", "secret");
+            user.setUname("fetch" + u);
+            entityManager.persist(user);
+            if (firstUser == null) {
+                firstUser = user;
+            }
+            for (int o = 0; o < 6; o++) {
+                Orders order = new Orders();
+                order.setoName("Item " + o);
+                order.setoPrice(2.5);
+                order.setoQuantity(1);
+                order.setOrderDate(new Date());
+                order.setUser(user);
+                entityManager.persist(order);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminOrdersPage_loadsOrdersAndTheirUsersInOneSelectPlusCount() {
+        Page<Orders> page = orderRepository.findAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "oId")));
+        for (Orders order : page) {
+            order.getUser().getUname();
+            order.getUser().getUemail();
+        }
+
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void buyProductPage_loadsOrderLinesWithoutTheirUsers() {
+        User user = userRepository.findById(firstUser.getU_id()).orElseThrow();
+        statistics.clear();
+
+        List<Orders> orders = orderRepository.findOrdersByUser(user);
+        for (Orders order : orders) {
+            order.getoName();
+            order.getoPrice();
+            order.getoQuantity();
+            order.getTotalAmmout();
+        }
+
+        assertEquals(6, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminUsersPage_doesNotTouchOrderCollections() {
+        Page<User> users = userRepository.findAll(PageRequest.of(0, 20, Sort.by("uemail")));
+        for (User user : users) {
+            assertFalse(user.toString().isEmpty());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.user.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AsyncConfirmationSenderTest {
+
+    @Test
+    void sendConfirmation_deliversToDelegateInBackground() throws Exception {
+        RecordingSender delegate = new RecordingSender();
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(delegate, 10, 5, 10, 0, 1000);
+
+        sender.sendConfirmation(validUser(), 10.0);
+        sender.sendConfirmation(validUser(), 20.0);
+        sender.destroy();
+
+        assertEquals(List.of(10.0, 20.0), delegate.amounts);
+        assertEquals(2, sender.getSubmittedCount());
+        assertEquals(2, sender.getDeliveredCount());
+        assertEquals(0, sender.getDroppedCount());
+    }
+
+    @Test
+    void counts_arePublishedToMeterRegistry() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConfirmationSender failing = (user, amount) -> {
+            if (amount < 0) {
+                throw new IllegalStateException("mail server down");
+            }
+        };
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(failing, 10, 5, 10, 0, 1000, registry);
+
+        sender.sendConfirmation(validUser(), 10.0);
+        sender.sendConfirmation(validUser(), -1.0);
+        sender.destroy();
+        sender.sendConfirmation(validUser(), 30.0);
+
+        assertEquals(2.0, confirmations(registry, "submitted"));
+        assertEquals(1.0, confirmations(registry, "delivered"));
+        assertEquals(1.0, confirmations(registry, "failed"));
+        assertEquals(1.0, confirmations(registry, "dropped"));
+        assertEquals(0.0, registry.get("confirmation.sender.blocked").functionCounter().count());
+        assertEquals(0.0, registry.get("confirmation.sender.queue.depth").gauge().value());
+    }
+
+    @Test
+    void sendConfirmation_returnsWithoutWaitingForSlowDelegate() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ConfirmationSender slow = (user, amount) -> await(release);
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(slow, 10, 1, 10, 0, 1000);
+
+        long start = System.nanoTime();
+        sender.sendConfirmation(validUser(), 10.0);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 500);
+        release.countDown();
+        sender.destroy();
+        assertEquals(1, sender.getDeliveredCount());
+    }
+
+    @Test
+    void sendConfirmation_dropsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ConfirmationSender blocking = (user, amount) -> {
+            started.countDown();
+            await(release);
+        };
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(blocking, 1, 1, 10, 0, 1000);
+
+        sender.sendConfirmation(validUser(), 1.0);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        sender.sendConfirmation(validUser(), 2.0);
+        sender.sendConfirmation(validUser(), 3.0);
+
+        assertEquals(1, sender.getDroppedCount());
+        assertEquals(1, sender.getBlockedCount());
+
+        release.countDown();
+        sender.destroy();
+        assertEquals(2, sender.getDeliveredCount());
+    }
+
+    @Test
+    void destroy_drainsQueuedConfirmations() throws Exception {
+        RecordingSender delegate = new RecordingSender();
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(delegate, 100, 10, 1000, 0, 5000);
+
+        for (int i = 1; i <= 25; i++) {
+            sender.sendConfirmation(validUser(), i);
+        }
+        sender.destroy();
+
+        assertEquals(25, delegate.amounts.size());
+        assertEquals(0, sender.getQueueDepth());
+    }
+
+    @Test
+    void sendConfirmation_dropsAfterShutdown() throws Exception {
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(new RecordingSender(), 10, 1, 10, 0, 1000);
+        sender.destroy();
+
+        sender.sendConfirmation(validUser(), 10.0);
+
+        assertEquals(1, sender.getDroppedCount());
+        assertEquals(0, sender.getSubmittedCount());
+    }
+
+    @Test
+    void destroy_countsConfirmationsLeftAfterTimeoutAsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ConfirmationSender stuck = (user, amount) -> {
+            started.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(stuck, 100, 1, 10, 0, 100);
+        sender.sendConfirmation(validUser(), 1.0);
+        await(started);
+        for (int i = 2; i <= 6; i++) {
+            sender.sendConfirmation(validUser(), i);
+        }
+
+        sender.destroy();
+        release.countDown();
+
+        assertEquals(6, sender.getSubmittedCount());
+        assertEquals(5, sender.getDroppedCount());
+        assertEquals(0, sender.getQueueDepth());
+    }
+
+    @Test
+    void sendConfirmation_racingShutdownIsEitherDeliveredOrDropped() throws Exception {
+        RecordingSender delegate = new RecordingSender();
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(delegate, 10_000, 50, 1, 0, 5000);
+        int threads = 8;
+        int perThread = 2000;
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                for (int i = 0; i < perThread; i++) {
+                    sender.sendConfirmation(validUser(), i);
+                }
+            });
+            thread.start();
+            senders.add(thread);
+        }
+        await(ready);
+
+        sender.destroy();
+        for (Thread thread : senders) {
+            thread.join(10_000);
+        }
+
+        assertEquals(threads * perThread, sender.getSubmittedCount() + sender.getDroppedCount());
+        assertEquals(sender.getSubmittedCount(), sender.getDeliveredCount());
+        assertEquals(0, sender.getQueueDepth());
+    }
+
+    @Test
+    void sendConfirmation_countsDelegateFailures() throws Exception {
+        ConfirmationSender failing = (user, amount) -> {
+            throw new IllegalStateException("mail server down");
+        };
+        AsyncConfirmationSender sender = new AsyncConfirmationSender(failing, 10, 1, 10, 0, 1000);
+
+        sender.sendConfirmation(validUser(), 10.0);
+        sender.destroy();
+
+        assertEquals(1, sender.getFailedCount());
+        assertEquals(0, sender.getDeliveredCount());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncConfirmationSender(new RecordingSender(), 0, 1, 10, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncConfirmationSender(new RecordingSender(), 1, 0, 10, 0, 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double confirmations(SimpleMeterRegistry registry, String outcome) {
+        return registry.get("confirmation.sender.confirmations").tag("outcome", outcome).functionCounter().count();
+    }
+
+    private static User validUser() {
+        User user = new User();
+        user.setUemail("user@example.com");
+        user.setUname("User");
+        return user;
+    }
+
+    private static final class RecordingSender implements ConfirmationSender {
+
+        final List<Double> amounts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void sendConfirmation(User user, double amount) {
+            amounts.add(amount);
+        }
+    }
+}
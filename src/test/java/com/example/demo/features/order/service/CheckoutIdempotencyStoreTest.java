@@ -0,0 +1,221 @@
+package com.example.demo.features.order.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class CheckoutIdempotencyStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void constructor_rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new CheckoutIdempotencyStore(0, 10, clock));
+        assertThrows(IllegalArgumentException.class, () -> new CheckoutIdempotencyStore(1000, 0, clock));
+    }
+
+    @Test
+    void execute_replaysStoredResultForSameKey() {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(1_000, 10, clock);
+        AtomicInteger runs = new AtomicInteger();
+        CheckoutResult first = CheckoutResult.success(5.0);
+
+        CheckoutIdempotencyStore.Outcome original = store.execute("1:a", () -> { runs.incrementAndGet(); return first; });
+        CheckoutIdempotencyStore.Outcome retry = store.execute("1:a", () -> { runs.incrementAndGet(); return null; });
+
+        assertFalse(original.replayed);
+        assertTrue(retry.replayed);
+        assertSame(first, retry.result);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_runsAgainAfterTtl() {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(1_000, 10, clock);
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("1:a", () -> { runs.incrementAndGet(); return CheckoutResult.success(1.0); });
+        clock.advance(1_000);
+        CheckoutIdempotencyStore.Outcome afterExpiry =
+                store.execute("1:a", () -> { runs.incrementAndGet(); return CheckoutResult.success(2.0); });
+
+        assertFalse(afterExpiry.replayed);
+        assertEquals(2.0, afterExpiry.result.getChargedAmount());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void execute_evictsOldestEntriesBeyondCapacity() {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(60_000, 3, clock);
+        for (int i = 0; i < 10; i++) {
+            store.execute("key-" + i, () -> CheckoutResult.success(1.0));
+        }
+
+        assertEquals(3, store.size());
+        assertTrue(store.execute("key-9", () -> CheckoutResult.failure("rerun")).replayed);
+        assertFalse(store.execute("key-0", () -> CheckoutResult.failure("rerun")).replayed);
+    }
+
+    @Test
+    void execute_forgetsKeyWhenCheckoutThrows() {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(1_000, 10, clock);
+
+        assertThrows(IllegalStateException.class, () -> store.execute("1:a", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        CheckoutIdempotencyStore.Outcome retry = store.execute("1:a", () -> CheckoutResult.success(3.0));
+
+        assertFalse(retry.replayed);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void execute_concurrentDuplicatesWaitForInFlightResult() throws Exception {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(60_000, 100, clock);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CheckoutResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> store.execute("7:retry", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return CheckoutResult.success(42.0);
+            }).result));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> store.execute("7:retry", () -> {
+                    runs.incrementAndGet();
+                    return CheckoutResult.failure("duplicate ran");
+                }).result));
+            }
+            release.countDown();
+
+            for (Future<CheckoutResult> result : results) {
+                assertEquals(42.0, result.get(5, TimeUnit.SECONDS).getChargedAmount());
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_keepsInFlightEntryWhenStoreIsFullOrExpired() throws Exception {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(60_000, 1, 100, clock);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CheckoutResult> first = executor.submit(() -> store.execute("1:slow", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return CheckoutResult.success(10.0);
+            }).result);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                store.execute("2:" + i, () -> CheckoutResult.success(1.0));
+            }
+            clock.advance(120_000);
+
+            // The duplicate waits on the running attempt (and times out) instead of charging again.
+            assertThrows(PaymentUnavailableException.class, () -> store.execute("1:slow", () -> {
+                runs.incrementAndGet();
+                return CheckoutResult.failure("duplicate ran");
+            }));
+            release.countDown();
+
+            assertEquals(10.0, first.get(5, TimeUnit.SECONDS).getChargedAmount());
+            assertEquals(1, runs.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_duplicateGivesUpAfterAwaitTimeoutWithoutRunning() throws Exception {
+        CheckoutIdempotencyStore store = new CheckoutIdempotencyStore(60_000, 10, 50, clock);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> store.execute("1:hung", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return CheckoutResult.success(1.0);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            long begun = System.nanoTime();
+            assertThrows(PaymentUnavailableException.class, () -> store.execute("1:hung", () -> {
+                runs.incrementAndGet();
+                return CheckoutResult.failure("duplicate ran");
+            }));
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begun) < 2_000);
+            assertEquals(1, runs.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
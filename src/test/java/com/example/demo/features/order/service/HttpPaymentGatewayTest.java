@@ -0,0 +1,275 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.user.model.User;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpPaymentGatewayTest {
+
+    private StubProcessor processor;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        processor = new StubProcessor();
+        user = new User("buyer@example.com", "secret");
+        user.setU_id(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    void charge_postsAmountAndReturnsProcessorVerdict() {
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 5, 10_000);
+
+        assertTrue(gateway.charge(user, 12.5));
+        assertTrue(processor.lastBody.contains("\"amount\":\"12.50\""));
+        assertTrue(processor.lastBody.contains("\"email\":\"buyer@example.com\""));
+        assertEquals("Bearer test-key", processor.lastAuthorization);
+        assertTrue(processor.lastIdempotencyKey != null && !processor.lastIdempotencyKey.isBlank());
+
+        processor.body = "{\"status\":\"declined\"}";
+        assertFalse(gateway.charge(user, 12.5));
+
+        processor.status = 402;
+        assertFalse(gateway.charge(user, 12.5));
+    }
+
+    @Test
+    void charge_failsWithinRequestTimeoutWhenProcessorStalls() {
+        processor.delayMillis = 2000;
+        HttpPaymentGateway gateway = gateway(150, 4, 0, 5, 10_000);
+
+        long started = System.nanoTime();
+        assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1000);
+    }
+
+    @Test
+    void charge_treatsServerErrorsAsUnavailableRatherThanDeclined() {
+        processor.status = 503;
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 5, 10_000);
+
+        assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+    }
+
+    @Test
+    void circuit_opensAfterConsecutiveFailuresAndStopsCallingProcessor() {
+        processor.status = 500;
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 3, 10_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+        }
+        assertTrue(gateway.isCircuitOpen());
+
+        processor.status = 200;
+        PaymentUnavailableException refused = assertThrows(PaymentUnavailableException.class,
+                () -> gateway.charge(user, 10));
+        assertTrue(refused.getMessage().contains("circuit open"));
+        assertEquals(3, processor.requests.get());
+    }
+
+    @Test
+    void circuit_closesAfterSuccessfulTrialOnceOpenPeriodEnds() throws Exception {
+        processor.status = 500;
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 1, 100);
+        assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+        assertTrue(gateway.isCircuitOpen());
+
+        Thread.sleep(150);
+        processor.status = 200;
+
+        assertTrue(gateway.charge(user, 10));
+        assertFalse(gateway.isCircuitOpen());
+        assertTrue(gateway.charge(user, 10));
+    }
+
+    @Test
+    void circuit_reopensWhenTrialFails() throws Exception {
+        processor.status = 500;
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 1, 100);
+        assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+
+        Thread.sleep(150);
+        assertThrows(PaymentUnavailableException.class, () -> gateway.charge(user, 10));
+
+        assertTrue(gateway.isCircuitOpen());
+        assertEquals(2, processor.requests.get());
+    }
+
+    @Test
+    void bulkhead_turnsAwayChargesBeyondConcurrencyLimit() throws Exception {
+        processor.hold = new CountDownLatch(1);
+        HttpPaymentGateway gateway = gateway(5000, 1, 0, 5, 10_000);
+        Thread inFlight = new Thread(() -> gateway.charge(user, 10));
+        inFlight.start();
+        assertTrue(processor.arrived.await(5, TimeUnit.SECONDS));
+
+        PaymentUnavailableException busy = assertThrows(PaymentUnavailableException.class,
+                () -> gateway.charge(user, 10));
+
+        assertTrue(busy.getMessage().contains("busy"));
+        processor.hold.countDown();
+        inFlight.join(5000);
+        assertFalse(gateway.isCircuitOpen());
+    }
+
+    @Test
+    void retryAfterLostAnswer_reusesKeyAndIsNotChargedAgain() {
+        processor.delayMillis = 1000;
+        HttpPaymentGateway gateway = gateway(150, 4, 0, 5, 10_000);
+        OrderServices orderServices = mock(OrderServices.class);
+        when(orderServices.calculateTotalForUser(user)).thenReturn(25.0);
+        OrderCheckoutService checkoutService = new OrderCheckoutService(orderServices, gateway,
+                mock(ConfirmationSender.class));
+
+        // The processor takes the charge but answers after the client has given up.
+        assertThrows(PaymentUnavailableException.class, () -> checkoutService.checkout(user, "order-42"));
+        processor.delayMillis = 0;
+        CheckoutResult retry = checkoutService.checkout(user, "order-42");
+
+        assertTrue(retry.isSuccessful());
+        assertEquals(2, processor.requests.get());
+        assertEquals(1, processor.charges.get());
+        assertEquals("7:order-42", processor.lastIdempotencyKey);
+    }
+
+    @Test
+    void charge_withoutKeyUsesFreshKeyPerCall() {
+        HttpPaymentGateway gateway = gateway(1000, 4, 0, 5, 10_000);
+
+        gateway.charge(user, 5);
+        String first = processor.lastIdempotencyKey;
+        gateway.charge(user, 5);
+
+        assertNotEquals(first, processor.lastIdempotencyKey);
+        assertEquals(2, processor.charges.get());
+    }
+
+    @Test
+    void checkout_staysFastWhileProcessorIsDegraded() {
+        processor.delayMillis = 2000;
+        HttpPaymentGateway gateway = gateway(100, 4, 0, 2, 10_000);
+        OrderServices orderServices = mock(OrderServices.class);
+        when(orderServices.calculateTotalForUser(user)).thenReturn(25.0);
+        OrderCheckoutService checkoutService = new OrderCheckoutService(orderServices, gateway,
+                mock(ConfirmationSender.class));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThrows(PaymentUnavailableException.class, () -> checkoutService.checkout(user));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Two timed-out attempts open the circuit; the remaining eighteen are refused without waiting.
+        assertTrue(elapsedMillis < 1500, "20 checkouts took " + elapsedMillis + " ms");
+        assertEquals(2, processor.requests.get());
+    }
+
+    private HttpPaymentGateway gateway(long requestTimeoutMillis, int maxConcurrent, long acquireTimeoutMillis,
+            int failureThreshold, long openMillis) {
+        return new HttpPaymentGateway(processor.url(), "test-key", 500, requestTimeoutMillis, maxConcurrent,
+                acquireTimeoutMillis, failureThreshold, openMillis, new SimpleMeterRegistry());
+    }
+
+    private static final class StubProcessor {
+
+        private final HttpServer server;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger charges = new AtomicInteger();
+        private final Map<String, String> answered = new ConcurrentHashMap<>();
+        private final CountDownLatch arrived = new CountDownLatch(1);
+        private volatile int status = 200;
+        private volatile String body = "{\"status\":\"approved\"}";
+        private volatile long delayMillis;
+        private volatile CountDownLatch hold;
+        private volatile String lastBody;
+        private volatile String lastAuthorization;
+        private volatile String lastIdempotencyKey;
+
+        StubProcessor() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/charges", this::handle);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/charges";
+        }
+
+        void stop() {
+            CountDownLatch pending = hold;
+            if (pending != null) {
+                pending.countDown();
+            }
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            lastBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+            lastIdempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            // Like a real processor: a key seen before replays the first answer instead of charging again.
+            String answer = body;
+            String replayed = lastIdempotencyKey == null ? null : answered.putIfAbsent(lastIdempotencyKey, answer);
+            if (replayed != null) {
+                answer = replayed;
+            } else {
+                charges.incrementAndGet();
+            }
+            arrived.countDown();
+            try {
+                CountDownLatch gate = hold;
+                if (gate != null) {
+                    gate.await(10, TimeUnit.SECONDS);
+                }
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = answer.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            } catch (IOException e) {
+                // The client gave up waiting; nothing to deliver.
+            }
+            exchange.close();
+        }
+    }
+}
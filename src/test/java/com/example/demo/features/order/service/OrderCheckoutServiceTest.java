@@ -1,9 +1,15 @@
 package com.example.demo.features.order.service;
 
 import com.example.demo.features.user.model.User;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -91,4 +97,109 @@ public class OrderCheckoutServiceTest {
         verify(paymentGateway).charge(user, cartTotal);
         verify(confirmationSender).sendConfirmation(user, cartTotal);
     }
+
+    @Test
+    void checkout_recordsOutcomeCountersAndStageTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderCheckoutService instrumented = instrumented(registry);
+        when(orderServices.calculateTotalForUser(user)).thenReturn(12.5, 12.5, 0.0);
+        when(paymentGateway.charge(user, 12.5)).thenReturn(true, false);
+
+        instrumented.checkout(user);
+        instrumented.checkout(user);
+        instrumented.checkout(user);
+        instrumented.checkout(null);
+
+        assertEquals(1.0, registry.get("checkout.results").tag("outcome", "success").counter().count());
+        assertEquals(1.0, registry.get("checkout.results").tag("outcome", "payment_declined").counter().count());
+        assertEquals(1.0, registry.get("checkout.results").tag("outcome", "empty_cart").counter().count());
+        assertEquals(1.0, registry.get("checkout.results").tag("outcome", "missing_user").counter().count());
+        assertEquals(4, registry.get("checkout.duration").timer().count());
+        assertEquals(3, registry.get("checkout.stage.duration").tag("stage", "cart_total").timer().count());
+        assertEquals(2, registry.get("checkout.stage.duration").tag("stage", "payment").timer().count());
+        assertEquals(1, registry.get("checkout.stage.duration").tag("stage", "confirmation").timer().count());
+        assertEquals(2, registry.get("checkout.cart.total").summary().count());
+    }
+
+    @Test
+    void cartTotalHistogram_reachesLargestAllowedOrder() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AtomicReference<DistributionStatisticConfig> cartTotal = new AtomicReference<>();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals("checkout.cart.total")) {
+                    cartTotal.set(config);
+                }
+                return config;
+            }
+        });
+
+        new CheckoutMetrics(registry);
+
+        assertEquals(OrderServices.MAX_ORDER_TOTAL.doubleValue(), cartTotal.get().getMaximumExpectedValueAsDouble());
+    }
+
+    @Test
+    void checkout_countsErrorAndRethrows_whenCartTotalFails() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderCheckoutService instrumented = instrumented(registry);
+        when(orderServices.calculateTotalForUser(user)).thenThrow(new IllegalArgumentException("bad line"));
+
+        assertThrows(IllegalArgumentException.class, () -> instrumented.checkout(user));
+
+        assertEquals(1.0, registry.get("checkout.results").tag("outcome", "error").counter().count());
+        verifyNoInteractions(paymentGateway, confirmationSender);
+    }
+
+    @Test
+    void checkout_withSameIdempotencyKey_chargesOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderCheckoutService instrumented = instrumented(registry);
+        user.setU_id(9);
+        when(orderServices.calculateTotalForUser(user)).thenReturn(20.0);
+        when(paymentGateway.charge(eq(user), eq(20.0), anyString())).thenReturn(true);
+
+        CheckoutResult first = instrumented.checkout(user, "retry-1");
+        CheckoutResult retry = instrumented.checkout(user, "retry-1");
+        instrumented.checkout(user, "retry-2");
+
+        assertSame(first, retry);
+        verify(orderServices, times(2)).calculateTotalForUser(user);
+        verify(paymentGateway).charge(user, 20.0, "9:retry-1");
+        verify(paymentGateway).charge(user, 20.0, "9:retry-2");
+        assertEquals(1.0, registry.get("checkout.idempotent.replays").counter().count());
+    }
+
+    @Test
+    void checkout_withBlankIdempotencyKey_runsEveryTime() {
+        user.setU_id(9);
+        when(orderServices.calculateTotalForUser(user)).thenReturn(20.0);
+        when(paymentGateway.charge(user, 20.0)).thenReturn(true);
+
+        orderCheckoutService.checkout(user, " ");
+        orderCheckoutService.checkout(user, null);
+
+        verify(paymentGateway, times(2)).charge(user, 20.0);
+    }
+
+    @Test
+    void checkout_idempotencyKeysAreScopedPerUser() {
+        User other = new User();
+        user.setU_id(1);
+        other.setU_id(2);
+        when(orderServices.calculateTotalForUser(any(User.class))).thenReturn(20.0);
+        when(paymentGateway.charge(any(User.class), eq(20.0), anyString())).thenReturn(true);
+
+        orderCheckoutService.checkout(user, "shared");
+        orderCheckoutService.checkout(other, "shared");
+
+        verify(paymentGateway).charge(user, 20.0, "1:shared");
+        verify(paymentGateway).charge(other, 20.0, "2:shared");
+    }
+
+    private OrderCheckoutService instrumented(SimpleMeterRegistry registry) {
+        return new OrderCheckoutService(orderServices, paymentGateway, confirmationSender,
+                new CheckoutMetrics(registry), CheckoutIdempotencyStore.defaults());
+    }
 }
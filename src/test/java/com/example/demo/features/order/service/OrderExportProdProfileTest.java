@@ -0,0 +1,124 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// The orders export under the prod datasource settings. MySQL only honours the repository's fetch size when
+// Connector/J has useCursorFetch on, so this checks both halves: the pool hands the driver that property, and
+// the export query reaches JDBC with its fetch size set rather than reading everything up front.
+@SpringBootTest(properties = {
+        "spring.profiles.active=prod",
+        "spring.datasource.url=jdbc:h2:mem:prodexport;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=1",
+        "payment.http.charge-url=http://127.0.0.1:9/charges" })
+class OrderExportProdProfileTest {
+
+    private static final List<String> FETCH_SIZES = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Test
+    void export_streamsWithCursorFetchAndStatementFetchSize() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        assertEquals("true", pool.getDataSourceProperties().getProperty("useCursorFetch"));
+        assertEquals("true", pool.getDataSourceProperties().getProperty("useServerPrepStmts"));
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (u_id, uname, uemail) VALUES (1, 'Asha', 'asha@example.com')");
+        for (int id = 1; id <= 3; id++) {
+            jdbc.update("INSERT INTO orders (o_id, o_name, o_price, o_quantity, order_date, total_ammout, user_u_id) "
+                    + "VALUES (?, 'Lassi', 60, 1, CURRENT_TIMESTAMP, 60, 1)", id);
+        }
+        FETCH_SIZES.clear();
+        StringWriter out = new StringWriter();
+
+        assertEquals(3, orderExportService.writeCsv(out));
+
+        assertTrue(out.toString().contains("3,Asha,asha@example.com,Lassi,60.0,1,60.0,"));
+        assertTrue(FETCH_SIZES.contains("500"), "export statement fetch sizes: " + FETCH_SIZES);
+    }
+
+    @TestConfiguration
+    static class RecordFetchSizes {
+
+        @Bean
+        static BeanPostProcessor fetchSizeRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof HikariDataSource pool ? new RecordingDataSource(pool) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                                && String.valueOf(args[0]).contains("order by")) {
+                            return recording(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("setFetchSize")) {
+                            FETCH_SIZES.add(String.valueOf(args[0]));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
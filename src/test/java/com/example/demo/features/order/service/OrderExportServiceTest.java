@@ -0,0 +1,57 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.order.repository.OrderExportRow;
+import com.example.demo.features.order.repository.OrderRepository;
+
+class OrderExportServiceTest {
+
+    @Test
+    void writeCsv_streamsRowsAndEscapesFields() throws Exception {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.streamAllForExport()).thenReturn(Stream.of(
+                row(1, "Tea", "sara", "sara@example.com", null),
+                row(2, "Chicken \"Tikka\", large", null, null, new Date(0))));
+        OrderExportService service = new OrderExportService(orderRepository);
+        StringWriter out = new StringWriter();
+
+        long rows = service.writeCsv(out);
+
+        assertEquals(2, rows);
+        assertEquals("id,user,email,product,price,quantity,total,date\n"
+                + "1,sara,sara@example.com,Tea,2.5,2,5.0,\n"
+                + "2,,,\"Chicken \"\"Tikka\"\", large\",2.5,2,5.0,1970-01-01T00:00:00Z\n", out.toString());
+    }
+
+    @Test
+    void writeCsv_writesHeaderOnly_whenNoOrders() throws Exception {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.streamAllForExport()).thenReturn(Stream.empty());
+        StringWriter out = new StringWriter();
+
+        assertEquals(0, new OrderExportService(orderRepository).writeCsv(out));
+        assertEquals("id,user,email,product,price,quantity,total,date\n", out.toString());
+    }
+
+    private static OrderExportRow row(int id, String name, String userName, String userEmail, Date date) {
+        return new OrderExportRow() {
+            public int getId() { return id; }
+            public String getName() { return name; }
+            public double getPrice() { return 2.5; }
+            public int getQuantity() { return 2; }
+            public double getTotal() { return 5.0; }
+            public Date getOrderDate() { return date; }
+            public String getUserName() { return userName; }
+            public String getUserEmail() { return userEmail; }
+        };
+    }
+}
@@ -3,15 +3,25 @@ package com.example.demo.features.order.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.example.demo.features.order.dto.OrderHistoryEntry;
+import com.example.demo.features.order.dto.OrderHistoryPage;
 import com.example.demo.features.order.model.Orders;
 import com.example.demo.features.order.repository.OrderRepository;
 import com.example.demo.features.user.model.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -56,6 +66,27 @@ public class OrderServicesTest {
         verify(orderRepository).save(order);
     }
 
+    @Test
+    void saveOrder_stampsMissingOrderDate() {
+        Orders order = new Orders();
+        orderServices.saveOrder(order);
+
+        assertNotNull(order.getOrderDate());
+    }
+
+    @Test
+    void updateOrder_keepsStoredOrderDateWhenFormOmitsIt() {
+        Orders stored = new Orders();
+        Date placed = new Date(1_000_000L);
+        stored.setOrderDate(placed);
+        when(orderRepository.findById(5)).thenReturn(Optional.of(stored));
+        Orders edited = new Orders();
+
+        orderServices.updateOrder(5, edited);
+
+        assertEquals(placed, edited.getOrderDate());
+    }
+
     @Test
     void deleteOrder_delegatesToRepository() {
         orderServices.deleteOrder(3);
@@ -170,6 +201,348 @@ public class OrderServicesTest {
     }
 
 
+    @Test
+    void calculateTotal_addsNewLinesToRunningTotalAndReseedsAfterDelete() {
+        user.setU_id(7);
+        Orders existing = userOrder(2, 10.0);
+        existing.setoId(3);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(existing));
+        when(orderRepository.findById(3)).thenReturn(Optional.of(existing));
+
+        assertEquals(20.0, orderServices.calculateTotalForUser(user));
+
+        Orders added = userOrder(1, 5.25);
+        orderServices.saveOrder(added);
+        assertEquals(25.25, orderServices.calculateTotalForUser(user));
+        verify(orderRepository, times(1)).findOrdersByUser(user);
+
+        orderServices.deleteOrder(3);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(added));
+        assertEquals(5.25, orderServices.calculateTotalForUser(user));
+        verify(orderRepository, times(2)).findOrdersByUser(user);
+    }
+
+    @Test
+    void deleteOrder_twiceFromStaleReadsDoesNotTakeLineOutTwice() {
+        user.setU_id(7);
+        Orders existing = userOrder(2, 10.0);
+        existing.setoId(3);
+        Orders other = userOrder(1, 4.0);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(existing, other));
+        when(orderRepository.findById(3)).thenReturn(Optional.of(existing));
+        assertEquals(24.0, orderServices.calculateTotalForUser(user));
+
+        // Both deletes read the row before either removed it.
+        orderServices.deleteOrder(3);
+        orderServices.deleteOrder(3);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(other));
+
+        assertEquals(4.0, orderServices.calculateTotalForUser(user));
+    }
+
+    @Test
+    void updateOrder_rereadsOwnerOnceLockedAndDropsBothUsersTotals() {
+        User buyer = savedUser(1);
+        User other = savedUser(2);
+        Orders line = order(1, 10.0);
+        line.setoId(5);
+        line.setUser(buyer);
+        Orders moved = order(1, 10.0);
+        moved.setoId(5);
+        moved.setUser(other);
+        when(orderRepository.findOrdersByUser(buyer)).thenReturn(List.of(line));
+        when(orderRepository.findOrdersByUser(other)).thenReturn(List.of());
+        assertEquals(10.0, orderServices.calculateTotalForUser(buyer));
+        assertEquals(0.0, orderServices.calculateTotalForUser(other));
+        // A concurrent update moves the line to the other user between the first read and the lock.
+        when(orderRepository.findById(5)).thenReturn(Optional.of(line), Optional.of(moved));
+
+        Orders edit = order(2, 10.0);
+        edit.setUser(buyer);
+        orderServices.updateOrder(5, edit);
+        when(orderRepository.findOrdersByUser(buyer)).thenReturn(List.of(edit));
+
+        assertEquals(20.0, orderServices.calculateTotalForUser(buyer));
+        assertEquals(0.0, orderServices.calculateTotalForUser(other));
+        verify(orderRepository, times(2)).findOrdersByUser(buyer);
+        verify(orderRepository, times(2)).findOrdersByUser(other);
+    }
+
+    @Test
+    void updateOrder_insideTransactionDropsTotalAgainAtCommit() {
+        user.setU_id(7);
+        Orders existing = userOrder(1, 10.0);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(existing));
+        when(orderRepository.findById(4)).thenReturn(Optional.of(existing));
+        assertEquals(10.0, orderServices.calculateTotalForUser(user));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            orderServices.updateOrder(4, userOrder(3, 10.0));
+            // Reseeded before the commit, so the update is not visible yet.
+            assertEquals(10.0, orderServices.calculateTotalForUser(user));
+            when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(3, 10.0)));
+        });
+
+        assertEquals(30.0, orderServices.calculateTotalForUser(user));
+    }
+
+    @Test
+    void calculateTotal_replacesPreviousLine_onUpdate() {
+        user.setU_id(7);
+        Orders existing = userOrder(2, 10.0);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(existing));
+        when(orderRepository.findById(4)).thenReturn(Optional.of(existing));
+
+        assertEquals(20.0, orderServices.calculateTotalForUser(user));
+
+        orderServices.updateOrder(4, userOrder(3, 10.0));
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(3, 10.0)));
+        assertEquals(30.0, orderServices.calculateTotalForUser(user));
+    }
+
+    @Test
+    void calculateTotal_stillRejectsInvalidLines_withRunningTotal() {
+        user.setU_id(7);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0)));
+        assertEquals(10.0, orderServices.calculateTotalForUser(user));
+
+        Orders invalid = userOrder(0, 10.0);
+        orderServices.saveOrder(invalid);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0), invalid));
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderServices.calculateTotalForUser(user)
+        );
+        assertEquals("Quantity must be positive", ex.getMessage());
+    }
+
+    @Test
+    void calculateTotal_enforcesMaximum_withRunningTotal() {
+        user.setU_id(7);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 9999.0)));
+        assertEquals(9999.0, orderServices.calculateTotalForUser(user));
+
+        orderServices.saveOrder(userOrder(1, 1.01));
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderServices.calculateTotalForUser(user)
+        );
+        assertEquals("Order total exceeds maximum allowed value", ex.getMessage());
+    }
+
+    @Test
+    void placeOrders_pricesEveryLineAndSavesCartOnce() {
+        user.setU_id(7);
+        Orders first = order(3, 2.675);
+        first.setTotalAmmout(0.01);
+        Orders second = order(2, 4.5);
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Orders> placed = orderServices.placeOrders(user, List.of(first, second));
+
+        assertEquals(List.of(first, second), placed);
+        assertEquals(8.03, first.getTotalAmmout());
+        assertEquals(9.0, second.getTotalAmmout());
+        assertSame(user, first.getUser());
+        assertNotNull(first.getOrderDate());
+        assertEquals(first.getOrderDate(), second.getOrderDate());
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void placeOrders_rejectsWholeCartWhenAnyLineIsInvalid() {
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderServices.placeOrders(user, List.of(order(1, 5.0), order(0, 5.0)))
+        );
+
+        assertEquals("Quantity must be positive", ex.getMessage());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void placeOrders_rejectsEmptyCartAndCartsOverMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> orderServices.placeOrders(user, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> orderServices.placeOrders(null, List.of(order(1, 1.0))));
+
+        IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderServices.placeOrders(user, List.of(order(1, 6000.0), order(1, 4000.01)))
+        );
+        assertEquals("Order total exceeds maximum allowed value", ex.getMessage());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void placeOrders_recordsCartSizeInLines() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(orderServices, "checkoutMetrics", new CheckoutMetrics(registry));
+
+        orderServices.placeOrders(user, List.of(order(1, 2.0), order(3, 1.5)));
+        orderServices.placeOrders(user, List.of(order(1, 2.0)));
+
+        DistributionSummary lines = registry.get("checkout.cart.lines").summary();
+        assertEquals(2, lines.count());
+        assertEquals(3.0, lines.totalAmount());
+        assertEquals(2.0, lines.max());
+    }
+
+    @Test
+    void placeOrders_movesRunningTotalOnlyWhenTransactionCommits() {
+        user.setU_id(7);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0)));
+        assertEquals(10.0, orderServices.calculateTotalForUser(user));
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> orderServices.placeOrders(user, List.of(order(2, 1.25))));
+        assertEquals(10.0, orderServices.calculateTotalForUser(user));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> orderServices.placeOrders(user, List.of(order(1, 3.0))));
+        assertEquals(13.0, orderServices.calculateTotalForUser(user));
+        verify(orderRepository, times(1)).findOrdersByUser(user);
+    }
+
+    @Test
+    void placeOrders_rereadsTotalWhenItWasLoadedBeforeCommit() {
+        user.setU_id(7);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0)));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            orderServices.placeOrders(user, List.of(order(1, 3.0)));
+            // Another request seeds the total; what it saw of this cart is unknown.
+            orderServices.calculateTotalForUser(user);
+            when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0), userOrder(1, 3.0)));
+        });
+
+        assertEquals(13.0, orderServices.calculateTotalForUser(user));
+    }
+
+    @Test
+    void placeOrders_addsCartToRunningTotal() {
+        user.setU_id(7);
+        when(orderRepository.findOrdersByUser(user)).thenReturn(List.of(userOrder(1, 10.0)));
+        assertEquals(10.0, orderServices.calculateTotalForUser(user));
+
+        orderServices.placeOrders(user, List.of(order(2, 1.25), order(1, 3.0)));
+
+        assertEquals(15.5, orderServices.calculateTotalForUser(user));
+        verify(orderRepository, times(1)).findOrdersByUser(user);
+    }
+
+    @Test
+    void getOrderHistory_returnsCursorOnlyWhenAnotherPageExists() {
+        user.setU_id(7);
+        Timestamp date = new Timestamp(1_700_000_000_123L);
+        date.setNanos(123_456_789);
+        List<OrderHistoryEntry> rows = List.of(entry(9, date), entry(8, date), entry(5, new Date(1_600_000_000_000L)));
+        when(orderRepository.findHistory(eq(7), any(Pageable.class))).thenReturn(rows);
+
+        OrderHistoryPage page = orderServices.getOrderHistory(user, null, 2);
+
+        assertEquals(2, page.getEntries().size());
+        assertTrue(page.isHasMore());
+        verify(orderRepository).findHistory(eq(7), argThat(pageable -> pageable.getPageSize() == 3));
+
+        when(orderRepository.findHistoryBefore(eq(7), any(Date.class), eq(8), any(Pageable.class)))
+                .thenReturn(List.of(rows.get(2)));
+        OrderHistoryPage next = orderServices.getOrderHistory(user, page.getNextCursor(), 2);
+
+        assertEquals(List.of(rows.get(2)), next.getEntries());
+        assertNull(next.getNextCursor());
+        verify(orderRepository).findHistoryBefore(eq(7), eq(date), eq(8), any(Pageable.class));
+    }
+
+    @Test
+    void getOrderHistory_rejectsBadCursorAndPageSize() {
+        user.setU_id(7);
+
+        assertThrows(IllegalArgumentException.class, () -> orderServices.getOrderHistory(user, "not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> orderServices.getOrderHistory(user, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> orderServices.getOrderHistory(user, null, 101));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderHistory_isEmptyForUnsavedUser() {
+        OrderHistoryPage page = orderServices.getOrderHistory(user, null, 20);
+
+        assertTrue(page.getEntries().isEmpty());
+        assertFalse(page.isHasMore());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void runningTotals_dropLeastRecentlyUsedUserBeyondBound() {
+        ReflectionTestUtils.setField(orderServices, "maxRunningTotals", 2);
+        User first = savedUser(1);
+        User second = savedUser(2);
+        User third = savedUser(3);
+        when(orderRepository.findOrdersByUser(any(User.class))).thenReturn(List.of(order(1, 4.0)));
+
+        orderServices.calculateTotalForUser(first);
+        orderServices.calculateTotalForUser(second);
+        orderServices.calculateTotalForUser(first);
+        orderServices.calculateTotalForUser(third);
+        orderServices.calculateTotalForUser(first);
+        orderServices.calculateTotalForUser(second);
+
+        verify(orderRepository, times(1)).findOrdersByUser(first);
+        verify(orderRepository, times(2)).findOrdersByUser(second);
+        verify(orderRepository, times(1)).findOrdersByUser(third);
+    }
+
+    @Test
+    void runningTotals_keepTotalWaitingForCommitWhenOverBound() {
+        ReflectionTestUtils.setField(orderServices, "maxRunningTotals", 1);
+        User buyer = savedUser(1);
+        User other = savedUser(2);
+        when(orderRepository.findOrdersByUser(buyer)).thenReturn(List.of(userOrder(1, 10.0)));
+        assertEquals(10.0, orderServices.calculateTotalForUser(buyer));
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            orderServices.placeOrders(buyer, List.of(order(1, 3.0)));
+            orderServices.calculateTotalForUser(other);
+        });
+
+        assertEquals(13.0, orderServices.calculateTotalForUser(buyer));
+        verify(orderRepository, times(1)).findOrdersByUser(buyer);
+    }
+
+    private static User savedUser(int id) {
+        User saved = new User("user" + id + "@example.com", "secret");
+        saved.setU_id(id);
+        return saved;
+    }
+
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static OrderHistoryEntry entry(int id, Date date) {
+        return new OrderHistoryEntry(id, "Item " + id, 2.5, 1, 2.5, date);
+    }
+
+    private Orders userOrder(int quantity, double price) {
+        Orders o = order(quantity, price);
+        o.setUser(user);
+        return o;
+    }
+
+
 
 
     // helper method to create an order
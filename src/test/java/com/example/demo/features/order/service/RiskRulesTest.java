@@ -0,0 +1,110 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Properties;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.user.model.User;
+
+class RiskRulesTest {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    @Test
+    void validEmailSeparator_matchesRegexAcceptance() {
+        String[] emails = { "user@example.com", "a@b.c", "a@.c", "@b.c", "a@b.", "a@bc", "a b@c.d",
+                "a@@b.c", "a@b..", "a@..b", "a@b.c.d", "x@fraud.com\n", "", "é@x.y", "a@b\t.c" };
+        for (String email : emails) {
+            assertEquals(EMAIL_PATTERN.matcher(email).matches(), RiskRules.validEmailSeparator(email) >= 0, email);
+        }
+        assertEquals(-1, RiskRules.validEmailSeparator(null));
+    }
+
+    @Test
+    void hasTooManyDecimalPlaces_matchesBigDecimalScale() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double amount = random.nextInt(2_000_000) / 100.0;
+            assertPrecisionParity(amount);
+            assertPrecisionParity(Math.nextUp(amount));
+            assertPrecisionParity(random.nextDouble() * Math.pow(10, random.nextInt(12) - 3));
+        }
+        assertPrecisionParity(12.479);
+        assertPrecisionParity(0.29);
+        assertPrecisionParity(1e10);
+    }
+
+    @Test
+    void screen_flagsBlacklistedDomainsIgnoringCase() {
+        RiskRules rules = RiskRules.defaults();
+
+        assertEquals(RiskVerdict.BLACKLISTED_DOMAIN, rules.screen(user("someone@FRAUD.com"), 10.0));
+        assertEquals(RiskVerdict.BLACKLISTED_DOMAIN, rules.screen(user("someone@Test-Spam.ORG"), 10.0));
+    }
+
+    @Test
+    void score_matchesOriginalRuleWeights() {
+        RiskRules rules = RiskRules.defaults();
+        User user = new User();
+        user.setUemail("suspicious@domain.ru");
+        user.setUname(" ");
+
+        int hashComponent = Math.abs("suspicious@domain.ru".hashCode()) % 20;
+        assertEquals(30 + 30 + 20 + 10 + hashComponent + 20, rules.score(user, 600.0));
+    }
+
+    @Test
+    void fromProperties_overridesOnlyConfiguredRules() {
+        Properties properties = new Properties();
+        properties.setProperty("risk.max-allowed-amount", "50");
+        properties.setProperty("risk.blacklisted-domains", "example.com");
+
+        RiskRules rules = RiskRules.fromProperties(properties);
+
+        assertEquals(50.0, rules.getMaxAllowedAmount());
+        assertEquals(RiskVerdict.OVER_LIMIT, rules.screen(user("user@other.com"), 60.0));
+        assertEquals(RiskVerdict.BLACKLISTED_DOMAIN, rules.screen(user("user@example.com"), 10.0));
+        assertEquals(RiskVerdict.ACCEPTED, rules.screen(user("user@fraud.com"), 10.0));
+    }
+
+    @Test
+    void fromProperties_rejectsMalformedPenalties() {
+        Properties properties = new Properties();
+        properties.setProperty("risk.amount-penalties", "200");
+
+        assertThrows(IllegalArgumentException.class, () -> RiskRules.fromProperties(properties));
+    }
+
+    @Test
+    void engineReload_swapsRulesWithoutNewGateway() {
+        RiskScoringEngine engine = new RiskScoringEngine();
+        SandboxPaymentGateway gateway = new SandboxPaymentGateway(engine);
+        User user = user("user@example.com");
+        assertEquals(true, gateway.charge(user, 50.0));
+
+        Properties properties = new Properties();
+        properties.setProperty("risk.max-allowed-amount", "10");
+        engine.reload(RiskRules.fromProperties(properties));
+
+        assertEquals(false, gateway.charge(user, 50.0));
+    }
+
+    private static void assertPrecisionParity(double amount) {
+        assertEquals(BigDecimal.valueOf(amount).scale() > 2, RiskRules.hasTooManyDecimalPlaces(amount),
+                Double.toString(amount));
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setUemail(email);
+        user.setUname("User");
+        user.setUnumber(1234567890L);
+        return user;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.features.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.demo.features.user.model.User;
+
+class RiskScoringEngineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadIfChanged_picksUpEditedRuleFile() throws IOException {
+        Path file = writeRules("risk.blacklisted-domains=fraud.com", Instant.parse("2026-01-01T00:00:00Z"));
+        RiskScoringEngine engine = new RiskScoringEngine(file.toString());
+        assertEquals(RiskVerdict.BLACKLISTED_DOMAIN, engine.currentRules().screen(user("a@fraud.com"), 10.0));
+
+        writeRules("risk.blacklisted-domains=scam.net", Instant.parse("2026-01-01T00:01:00Z"));
+
+        assertTrue(engine.reloadIfChanged());
+        assertEquals(RiskVerdict.BLACKLISTED_DOMAIN, engine.currentRules().screen(user("a@scam.net"), 10.0));
+        assertEquals(RiskVerdict.ACCEPTED, engine.currentRules().screen(user("a@fraud.com"), 10.0));
+    }
+
+    @Test
+    void reloadIfChanged_leavesRulesAloneWhileFileIsUnchanged() throws IOException {
+        Path file = writeRules("risk.blacklisted-domains=fraud.com", Instant.parse("2026-01-01T00:00:00Z"));
+        RiskScoringEngine engine = new RiskScoringEngine(file.toString());
+        RiskRules loaded = engine.currentRules();
+
+        assertFalse(engine.reloadIfChanged());
+        assertSame(loaded, engine.currentRules());
+    }
+
+    @Test
+    void reloadIfChanged_keepsCurrentRulesWhenEditIsInvalidOrFileIsGone() throws IOException {
+        Path file = writeRules("risk.blacklisted-domains=fraud.com", Instant.parse("2026-01-01T00:00:00Z"));
+        RiskScoringEngine engine = new RiskScoringEngine(file.toString());
+        RiskRules loaded = engine.currentRules();
+
+        writeRules("risk.amount-penalties=500", Instant.parse("2026-01-01T00:01:00Z"));
+        assertFalse(engine.reloadIfChanged());
+        assertFalse(engine.reloadIfChanged());
+        assertSame(loaded, engine.currentRules());
+
+        Files.delete(file);
+        assertFalse(engine.reloadIfChanged());
+        assertSame(loaded, engine.currentRules());
+    }
+
+    @Test
+    void reloadIfChanged_doesNothingWithoutRuleFile() {
+        RiskScoringEngine engine = new RiskScoringEngine("");
+
+        assertFalse(engine.reloadIfChanged());
+    }
+
+    private Path writeRules(String content, Instant modified) throws IOException {
+        Path file = dir.resolve("risk-rules.properties");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setUemail(email);
+        user.setUname("Buyer");
+        user.setUnumber(5551234L);
+        return user;
+    }
+}
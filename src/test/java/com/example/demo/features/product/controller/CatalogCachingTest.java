@@ -0,0 +1,75 @@
+package com.example.demo.features.product.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.demo.features.product.service.ProductServices;
+
+class CatalogCachingTest {
+
+    private ProductServices productServices;
+    private CatalogCaching catalogCaching;
+
+    @BeforeEach
+    void setUp() {
+        productServices = new ProductServices();
+        catalogCaching = new CatalogCaching(productServices, 0, 60);
+    }
+
+    @Test
+    void firstVisit_getsTagAndCacheHeaders() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(catalogCaching.checkNotModified(request(null, response)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + productServices.getCatalogTag() + "\"", response.getHeader("ETag"));
+        assertEquals("max-age=0, must-revalidate, public, s-maxage=60", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void repeatVisit_withCurrentTagIsNotModified() {
+        String etag = firstTag();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(catalogCaching.checkNotModified(request(etag, response)));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertTrue(response.getHeader("Cache-Control").contains("s-maxage=60"));
+    }
+
+    @Test
+    void catalogChange_invalidatesEarlierTag() {
+        String etag = firstTag();
+        productServices.getCatalogCache().invalidate();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(catalogCaching.checkNotModified(request(etag, response)));
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader("ETag"));
+    }
+
+    private String firstTag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        catalogCaching.checkNotModified(request(null, response));
+        return response.getHeader("ETag");
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
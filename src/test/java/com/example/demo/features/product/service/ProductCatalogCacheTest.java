@@ -0,0 +1,181 @@
+package com.example.demo.features.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.product.model.NutritionProfile;
+import com.example.demo.features.product.model.Product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductCatalogCacheTest {
+
+    @Test
+    void getAll_loadsOnceUntilInvalidated() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        List<Product> catalog = List.of(product(1, "Tea"));
+
+        cache.getAll(() -> { loads.incrementAndGet(); return catalog; });
+        cache.getAll(() -> { loads.incrementAndGet(); return catalog; });
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.invalidate();
+        cache.getAll(() -> { loads.incrementAndGet(); return catalog; });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAll_returnsImmutableSnapshot() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        List<Product> loaded = new ArrayList<>(List.of(product(1, "Tea")));
+
+        List<Product> snapshot = cache.getAll(() -> loaded);
+        loaded.add(product(2, "Coffee"));
+
+        assertEquals(1, snapshot.size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(product(3, "Juice")));
+    }
+
+    @Test
+    void getAll_discardsLoadThatRacedWithInvalidation() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getAll(() -> {
+            loads.incrementAndGet();
+            cache.invalidate();
+            return List.of(product(1, "Stale"));
+        });
+        List<Product> fresh = cache.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of(product(1, "Fresh"));
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("Fresh", fresh.get(0).getPname());
+    }
+
+    @Test
+    void getById_and_getByName_cacheHitsSeparately() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        Product tea = product(1, "Tea");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("Tea", cache.getById(1, id -> { loads.incrementAndGet(); return tea; }).getPname());
+        assertEquals("Tea", cache.getById(1, id -> { loads.incrementAndGet(); return tea; }).getPname());
+        assertEquals(1, cache.getByName("Tea", name -> { loads.incrementAndGet(); return tea; }).getPid());
+        assertEquals(1, cache.getByName("Tea", name -> { loads.incrementAndGet(); return tea; }).getPid());
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void lookups_handOutCopiesSoCallerEditsDoNotLeak() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        Product tea = product(1, "Tea");
+        NutritionProfile nutrition = new NutritionProfile();
+        nutrition.setCaloriesPerServing(2.0);
+        tea.setNutritionProfile(nutrition);
+
+        Product loaded = cache.getById(1, id -> tea);
+        loaded.setPname("Edited by a form");
+        tea.setPprice(99.0);
+        Product first = cache.getById(1, id -> tea);
+        first.getNutritionProfile().setCaloriesPerServing(500.0);
+        Product second = cache.getById(1, id -> tea);
+
+        assertNotSame(first, second);
+        assertEquals("Tea", second.getPname());
+        assertEquals(0.0, second.getPprice());
+        assertEquals(2.0, second.getNutritionProfile().getCaloriesPerServing());
+
+        cache.getAll(() -> List.of(product(1, "Tea"))).get(0).setPname("Edited");
+        assertEquals("Tea", cache.getAll(List::of).get(0).getPname());
+    }
+
+    @Test
+    void getByName_doesNotCacheMissingProducts() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.getByName("Nothing", name -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.getByName("Nothing", name -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void lookups_evictLeastRecentlyUsedBeyondLimit() {
+        ProductCatalogCache cache = new ProductCatalogCache(2);
+
+        cache.getById(1, id -> product(1, "A"));
+        cache.getById(2, id -> product(2, "B"));
+        cache.getById(1, id -> product(1, "A"));
+        cache.getById(3, id -> product(3, "C"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.getById(1, id -> { loads.incrementAndGet(); return product(1, "A"); });
+        cache.getById(2, id -> { loads.incrementAndGet(); return product(2, "B"); });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void counts_arePublishedToMeterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductCatalogCache cache = new ProductCatalogCache(1, registry);
+
+        cache.getAll(() -> List.of(product(1, "A")));
+        cache.getAll(List::of);
+        cache.getById(1, id -> product(1, "A"));
+        cache.getById(2, id -> product(2, "B"));
+
+        assertEquals(1.0, gets(registry, "hit"));
+        assertEquals(3.0, gets(registry, "miss"));
+        assertEquals(1.0, registry.get("cache.evictions").tag("cache", "productCatalog").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "productCatalog").gauge().value());
+    }
+
+    @Test
+    void invalidate_bumpsVersionAndClearsLookups() {
+        ProductCatalogCache cache = new ProductCatalogCache(10);
+        cache.getById(1, id -> product(1, "A"));
+        long before = cache.getVersion();
+
+        cache.invalidate();
+
+        assertEquals(before + 1, cache.getVersion());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductCatalogCache(0));
+    }
+
+    private static double gets(SimpleMeterRegistry registry, String result) {
+        return registry.get("cache.gets").tag("cache", "productCatalog").tag("result", result).functionCounter()
+                .count();
+    }
+
+    private static Product product(int id, String name) {
+        Product p = new Product();
+        p.setPid(id);
+        p.setPname(name);
+        return p;
+    }
+}
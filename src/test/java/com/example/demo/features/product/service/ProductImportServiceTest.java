@@ -0,0 +1,165 @@
+package com.example.demo.features.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.demo.features.product.model.Product;
+
+class ProductImportServiceTest {
+
+    private List<List<Product>> batches;
+    private ProductCatalogCache catalogCache;
+    private ApplicationEventPublisher eventPublisher;
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        batches = new ArrayList<>();
+        catalogCache = new ProductCatalogCache(10);
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getCatalogCache()).thenReturn(catalogCache);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        importService = new ProductImportService(products -> batches.add(new ArrayList<>(products)),
+                productServices, eventPublisher, 2);
+    }
+
+    @Test
+    void importCsv_writesValidRowsInBatches() throws Exception {
+        String csv = "name,description,price,servingSize,initialStock,calories,protein,carbs,fat\n"
+                + "Chicken Tikka,\"Grilled, spiced\",12.5,1,40,320,30,8,18\n"
+                + "Mango Lassi,\"Sweet \"\"yoghurt\"\" drink\",4,,,180,6,30,4\r\n"
+                + "Dal,Lentils,6,2,10,,,,\n";
+        long version = catalogCache.getVersion();
+
+        ProductImportReport report = importService.importCsv(new StringReader(csv));
+
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getProcessed());
+        assertEquals(3, report.getImported());
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        Product tikka = batches.get(0).get(0);
+        assertEquals("Grilled, spiced", tikka.getPdescription());
+        assertEquals(40, tikka.getInitialStock());
+        assertEquals(320, tikka.getNutritionProfile().getCaloriesPerServing());
+        assertEquals("Sweet \"yoghurt\" drink", batches.get(0).get(1).getPdescription());
+        assertNull(batches.get(1).get(0).getNutritionProfile());
+        assertEquals(2, batches.get(1).get(0).getDefaultServingSize());
+        assertTrue(catalogCache.getVersion() > version);
+        verify(eventPublisher).publishEvent(any(ProductsImportedEvent.class));
+    }
+
+    @Test
+    void importCsv_reportsInvalidRowsByLine() throws Exception {
+        String csv = "name,price,calories,fat\n"
+                + ",3,100,1\n"
+                + "Soup,-1,100,1\n"
+                + "Salad,5,NaN,1\n"
+                + "Bread,2,200\n"
+                + "Rice,2,\"130\",0\n";
+
+        ProductImportReport report = importService.importCsv(new StringReader(csv));
+
+        assertEquals(5, report.getProcessed());
+        assertEquals(1, report.getImported());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L),
+                report.getErrors().stream().map(ProductImportReport.RowError::getRow).toList());
+        assertEquals("name is required", report.getErrors().get(0).getMessage());
+        assertEquals("Rice", batches.get(0).get(0).getPname());
+    }
+
+    @Test
+    void importCsv_failsWithoutRequiredColumns() throws Exception {
+        ProductImportReport report = importService.importCsv(new StringReader("name,description\nTea,Hot\n"));
+
+        assertFalse(report.isCompleted());
+        assertEquals(0, report.getProcessed());
+        assertTrue(batches.isEmpty());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void importCsv_keepsEarlierBatchesWhenQuoteIsUnterminated() throws Exception {
+        String csv = "name,price\nA,1\nB,2\n\"C,3\n";
+
+        ProductImportReport report = importService.importCsv(new StringReader(csv));
+
+        assertFalse(report.isCompleted());
+        assertEquals(2, report.getImported());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void importCsv_reportsBatchRejectedByWriter() throws Exception {
+        importService = new ProductImportService(products -> {
+            throw new IllegalStateException("duplicate key");
+        }, mockServices(), eventPublisher, 2);
+
+        ProductImportReport report = importService.importCsv(new StringReader("name,price\nA,1\nB,2\nC,3\n"));
+
+        assertEquals(3, report.getProcessed());
+        assertEquals(0, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(2L, 4L),
+                report.getErrors().stream().map(ProductImportReport.RowError::getRow).toList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void importJson_readsArrayOfObjects() throws Exception {
+        String json = "[{\"name\":\"Paneer\",\"price\":9.5,\"calories\":250,\"protein\":18,\"tags\":[\"veg\"]},"
+                + "42,"
+                + "{\"name\":\"Naan\",\"price\":\"free\"},"
+                + "{\"NAME\":\"Raita\",\"PRICE\":2}]";
+
+        ProductImportReport report = importService.importJson(stream(json));
+
+        assertTrue(report.isCompleted());
+        assertEquals(4, report.getProcessed());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L, 3L),
+                report.getErrors().stream().map(ProductImportReport.RowError::getRow).toList());
+        assertEquals(18, batches.get(0).get(0).getNutritionProfile().getProteinGrams());
+        assertEquals("Raita", batches.get(0).get(1).getPname());
+    }
+
+    @Test
+    void importJson_stopsAtMalformedDocument() throws Exception {
+        ProductImportReport report = importService.importJson(
+                stream("[{\"name\":\"A\",\"price\":1},{\"name\":\"B\",\"price\":2},{\"name\":\"C\",\"price\""));
+
+        assertFalse(report.isCompleted());
+        assertEquals(2, report.getImported());
+
+        ProductImportReport notArray = importService.importJson(stream("{\"name\":\"A\"}"));
+        assertFalse(notArray.isCompleted());
+        assertEquals(0, notArray.getProcessed());
+    }
+
+    private ProductServices mockServices() {
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getCatalogCache()).thenReturn(catalogCache);
+        return productServices;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
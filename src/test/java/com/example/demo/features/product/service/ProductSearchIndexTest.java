@@ -0,0 +1,219 @@
+package com.example.demo.features.product.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.repository.ProductRepository;
+
+class ProductSearchIndexTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex index;
+    private List<Product> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ArrayList<>(List.of(
+                product(1, "Chicken Tikka", "Grilled chicken in a spiced yoghurt marinade"),
+                product(2, "Paneer Tikka", "Cottage cheese cubes, char grilled"),
+                product(3, "Butter Chicken", "Chicken in a tomato and butter gravy"),
+                product(4, "Mango Lassi", "Sweet yoghurt drink"),
+                product(5, "Chickpea Curry", "Slow cooked chana masala")));
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAll()).thenReturn(catalog);
+        index = new ProductSearchIndex(productRepository);
+    }
+
+    @Test
+    void search_returnsEmptyForBlankQueryOrLimit() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+        assertTrue(index.search("chicken", 0).isEmpty());
+    }
+
+    @Test
+    void search_ranksExactNameMatchesAboveFuzzyMatches() {
+        List<ProductSearchResult> results = index.search("chicken", 10);
+
+        assertEquals(List.of(1, 3, 5), ids(results));
+        assertTrue(results.get(1).getScore() > results.get(2).getScore());
+    }
+
+    @Test
+    void search_matchesDescriptionsWithLowerWeight() {
+        List<ProductSearchResult> results = index.search("yoghurt", 10);
+
+        assertEquals(List.of(4, 1), ids(results));
+        assertEquals(1.5, results.get(0).getScore());
+    }
+
+    @Test
+    void search_rewardsProductsMatchingEveryToken() {
+        List<ProductSearchResult> results = index.search("chicken tikka", 10);
+
+        assertEquals(List.of(1, 2, 3, 5), ids(results));
+        assertEquals("Chicken Tikka", results.get(0).getName());
+    }
+
+    @Test
+    void search_matchesPrefixes() {
+        assertEquals(List.of(4), ids(index.search("lass", 10)));
+        assertEquals(List.of(2), ids(index.search("pan", 10)));
+    }
+
+    @Test
+    void search_matchesMisspellings() {
+        assertEquals(4, index.search("mangoe", 10).get(0).getProductId());
+        assertEquals(2, index.search("panner", 10).get(0).getProductId());
+    }
+
+    @Test
+    void search_honoursLimit() {
+        assertEquals(2, index.search("chicken", 2).size());
+    }
+
+    @Test
+    void search_reusesScoreBuffersAcrossVirtualThreads() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                Future<List<ProductSearchResult>> results = executor.submit(() -> index.search("tikka", 10));
+                assertEquals(List.of(2, 1), ids(results.get()));
+            }
+            assertEquals(1, index.idleScratchCount());
+
+            List<Integer> chicken = ids(index.search("chicken", 10));
+            List<Future<List<ProductSearchResult>>> concurrent = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String query = i % 2 == 0 ? "chicken" : "lassi";
+                concurrent.add(executor.submit(() -> index.search(query, 10)));
+            }
+            for (int i = 0; i < concurrent.size(); i++) {
+                assertEquals(i % 2 == 0 ? chicken : List.of(4), ids(concurrent.get(i).get()));
+            }
+        }
+    }
+
+    @Test
+    void onProductChanged_updatesIndexIncrementally() {
+        index.search("mango", 10);
+        Product renamed = product(4, "Rose Lassi", "Sweet yoghurt drink with rose syrup");
+        when(productRepository.findById(4)).thenReturn(Optional.of(renamed));
+        when(productRepository.findById(6)).thenReturn(Optional.of(product(6, "Mango Kulfi", "Frozen dessert")));
+        when(productRepository.findById(2)).thenReturn(Optional.empty());
+
+        index.onProductChanged(new ProductChangedEvent(4));
+        index.onProductChanged(new ProductChangedEvent(6));
+        index.onProductChanged(new ProductChangedEvent(2));
+
+        assertEquals(List.of(6), ids(index.search("mango", 10)));
+        assertEquals(List.of(4), ids(index.search("rose", 10)));
+        assertTrue(index.search("paneer", 10).isEmpty());
+        assertEquals(5, index.size());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onProductChanged_searchesDoNotWaitForTheProductLookup() throws Exception {
+        index.search("mango", 10);
+        CountDownLatch lookingUp = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findById(4)).thenAnswer(invocation -> {
+            lookingUp.countDown();
+            release.await();
+            return Optional.of(product(4, "Rose Lassi", "Sweet yoghurt drink with rose syrup"));
+        });
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> change = executor.submit(() -> index.onProductChanged(new ProductChangedEvent(4)));
+            try {
+                assertTrue(lookingUp.await(5, TimeUnit.SECONDS));
+                Future<List<ProductSearchResult>> search = executor.submit(() -> index.search("mango", 10));
+                assertEquals(List.of(4), ids(search.get(5, TimeUnit.SECONDS)));
+            } finally {
+                release.countDown();
+            }
+            change.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(4), ids(index.search("rose", 10)));
+    }
+
+    @Test
+    void rebuild_servesPreviousContentsWhileLoading() throws Exception {
+        index.search("mango", 10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(product(6, "Mango Kulfi", "Frozen dessert"));
+        });
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> rebuild = executor.submit(index::rebuild);
+            try {
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+                Future<List<ProductSearchResult>> search = executor.submit(() -> index.search("mango", 10));
+                assertEquals(List.of(4), ids(search.get(5, TimeUnit.SECONDS)));
+            } finally {
+                release.countDown();
+            }
+            rebuild.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(6), ids(index.search("mango", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onProductChanged_beforeFirstSearchDefersToInitialLoad() {
+        index.onProductChanged(new ProductChangedEvent(1));
+
+        verify(productRepository, times(0)).findById(1);
+        assertEquals(1, index.search("tikka chicken", 1).get(0).getProductId());
+    }
+
+    @Test
+    void onProductsImported_reloadsOnNextSearch() {
+        index.search("mango", 10);
+        catalog.add(product(6, "Mango Kulfi", "Frozen dessert"));
+
+        index.onProductsImported(new ProductsImportedEvent(1));
+
+        assertEquals(List.of(4, 6), ids(index.search("mango", 10)));
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void tokenize_splitsOnNonAlphanumericsAndLowercases() {
+        assertEquals(List.of("chana", "masala", "2", "pcs"), ProductSearchIndex.tokenize("Chana-Masala (2 pcs)"));
+    }
+
+    private static List<Integer> ids(List<ProductSearchResult> results) {
+        List<Integer> ids = new ArrayList<>();
+        results.forEach(result -> ids.add(result.getProductId()));
+        return ids;
+    }
+
+    private static Product product(int id, String name, String description) {
+        Product p = new Product();
+        p.setPid(id);
+        p.setPname(name);
+        p.setPdescription(description);
+        p.setPprice(id * 2.0);
+        return p;
+    }
+}
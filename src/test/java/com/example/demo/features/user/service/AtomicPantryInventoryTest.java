@@ -0,0 +1,139 @@
+package com.example.demo.features.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.product.model.Product;
+
+class AtomicPantryInventoryTest {
+
+    @Test
+    void constructor_rejectsNonPositiveStripeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new AtomicPantryInventory(0));
+    }
+
+    @Test
+    void nullProduct_isNeverAvailable() {
+        AtomicPantryInventory inventory = new AtomicPantryInventory(4);
+
+        assertFalse(inventory.hasIngredients(null));
+        assertFalse(inventory.tryReserve(null));
+    }
+
+    @Test
+    void tryReserve_respectsServingSizeAndInitialStock() {
+        AtomicPantryInventory inventory = new AtomicPantryInventory(4);
+        Product p = product(10, 2, 5);
+
+        assertTrue(inventory.tryReserve(p));
+        assertTrue(inventory.tryReserve(p));
+        assertFalse(inventory.hasIngredients(p));
+        assertFalse(inventory.tryReserve(p));
+        assertEquals(1, inventory.getAvailableServings(10));
+    }
+
+    @Test
+    void whenInitialStockNotProvided_itDefaultsToSevenMealsWorth() {
+        AtomicPantryInventory inventory = new AtomicPantryInventory(4);
+        Product p = product(11, 3, 0);
+
+        for (int i = 0; i < 7; i++) {
+            assertTrue(inventory.tryReserve(p));
+        }
+        assertFalse(inventory.tryReserve(p));
+    }
+
+    @Test
+    void tryReserve_consolidatesStripesBeforeRefusing() {
+        AtomicPantryInventory inventory = new AtomicPantryInventory(8);
+        Product small = product(12, 1, 8);
+        Product large = product(12, 5, 8);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(inventory.tryReserve(small));
+        }
+        assertTrue(inventory.tryReserve(large));
+        assertEquals(0, inventory.getAvailableServings(12));
+    }
+
+    @Test
+    void openScope_copiesCurrentStockAndKeepsReservationsPrivate() {
+        AtomicPantryInventory inventory = new AtomicPantryInventory(2);
+        Product p = product(13, 2, 6);
+        inventory.reserve(p);
+
+        PantryInventory scope = inventory.openScope();
+        assertTrue(scope.tryReserve(p));
+        assertTrue(scope.tryReserve(p));
+        assertFalse(scope.tryReserve(p));
+
+        assertEquals(4, inventory.getAvailableServings(13));
+    }
+
+    @Test
+    void concurrentReservations_neverOversell() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 20_000;
+        for (int round = 0; round < 20; round++) {
+            int initialStock = 30_000 + round;
+            AtomicPantryInventory inventory = new AtomicPantryInventory(8);
+            Product hot = product(1, 3, initialStock);
+            Product cold = product(2, 1 + round % 4, 500);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<int[]> worker = () -> {
+                    start.await();
+                    int[] granted = new int[2];
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (inventory.tryReserve(hot)) {
+                            granted[0]++;
+                        }
+                        if (i % 7 == 0 && inventory.tryReserve(cold)) {
+                            granted[1]++;
+                        }
+                    }
+                    return granted;
+                };
+                results.add(executor.submit(worker));
+            }
+            start.countDown();
+            int hotGranted = 0;
+            int coldGranted = 0;
+            for (Future<int[]> result : results) {
+                int[] granted = result.get(30, TimeUnit.SECONDS);
+                hotGranted += granted[0];
+                coldGranted += granted[1];
+            }
+            executor.shutdownNow();
+
+            assertEquals(initialStock / 3, hotGranted, "round " + round);
+            assertEquals(initialStock % 3, inventory.getAvailableServings(1), "round " + round);
+            int coldServings = cold.getDefaultServingSize();
+            assertEquals(500 / coldServings, coldGranted, "round " + round);
+            assertEquals(500 % coldServings, inventory.getAvailableServings(2), "round " + round);
+        }
+    }
+
+    private static Product product(int id, int defaultServingSize, int initialStock) {
+        Product p = new Product();
+        p.setPid(id);
+        p.setDefaultServingSize(defaultServingSize);
+        p.setInitialStock(initialStock);
+        return p;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demo.features.user.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.product.model.Product;
+import com.example.demo.features.product.service.ProductChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingCalorieEstimatorTest {
+
+    @Test
+    void constructor_rejectsNullDelegate() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingCalorieEstimator((CalorieEstimator) null));
+    }
+
+    @Test
+    void estimateCalories_callsDelegateOncePerProduct() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> {
+            calls.incrementAndGet();
+            return p.getPid() * 10.0;
+        });
+
+        assertEquals(30.0, estimator.estimateCalories(product(3)));
+        assertEquals(30.0, estimator.estimateCalories(product(3)));
+        assertEquals(40.0, estimator.estimateCalories(product(4)));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, estimator.getHitCount());
+        assertEquals(2, estimator.getMissCount());
+        assertEquals(1.0 / 3, estimator.getHitRate(), 1e-9);
+        assertEquals(2, estimator.size());
+    }
+
+    @Test
+    void estimateCalories_neverCachesNullOrUnsavedProducts() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> {
+            calls.incrementAndGet();
+            return p == null ? 0.0 : 75.0;
+        });
+
+        estimator.estimateCalories(null);
+        estimator.estimateCalories(product(0));
+        estimator.estimateCalories(product(0));
+
+        assertEquals(3, calls.get());
+        assertEquals(0, estimator.size());
+        assertEquals(0.0, estimator.getHitRate());
+    }
+
+    @Test
+    void onProductChanged_dropsOnlyThatProduct() {
+        double[] base = {100.0};
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> base[0] + p.getPid());
+        estimator.estimateCalories(product(1));
+        estimator.estimateCalories(product(2));
+
+        base[0] = 200.0;
+        estimator.onProductChanged(new ProductChangedEvent(1));
+
+        assertEquals(201.0, estimator.estimateCalories(product(1)));
+        assertEquals(102.0, estimator.estimateCalories(product(2)));
+    }
+
+    @Test
+    void counts_arePublishedToMeterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> 10.0, registry);
+
+        estimator.estimateCalories(product(1));
+        estimator.estimateCalories(product(1));
+        estimator.estimateCalories(product(1));
+        estimator.estimateCalories(product(2));
+
+        assertEquals(2.0, gets(registry, "hit"));
+        assertEquals(2.0, gets(registry, "miss"));
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", "calorieEstimates").gauge().value());
+        assertEquals(2.0, registry.get("cache.size").tag("cache", "calorieEstimates").gauge().value());
+    }
+
+    @Test
+    void invalidateAll_clearsEveryEntry() {
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> 10.0);
+        for (int pid = 1; pid <= 100; pid++) {
+            estimator.estimateCalories(product(pid));
+        }
+
+        estimator.invalidateAll();
+
+        assertEquals(0, estimator.size());
+    }
+
+    @Test
+    void estimateCalories_matchesMapModelUnderRandomInvalidation() {
+        Random random = new Random(42L);
+        Map<Integer, Double> model = new HashMap<>();
+        double[] offset = {0.0};
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> p.getPid() * 1.5 + offset[0]);
+
+        for (int i = 0; i < 50_000; i++) {
+            int pid = 1 + random.nextInt(700);
+            if (random.nextInt(8) == 0) {
+                estimator.invalidate(pid);
+                model.remove(pid);
+                offset[0]++;
+                continue;
+            }
+            double expected = model.computeIfAbsent(pid, id -> id * 1.5 + offset[0]);
+            assertEquals(expected, estimator.estimateCalories(product(pid)), "step " + i);
+            assertEquals(model.size(), estimator.size(), "step " + i);
+        }
+    }
+
+    @Test
+    void estimateCalories_readsStayConsistentWhileWritersResizeAndClear() throws Exception {
+        CachingCalorieEstimator estimator = new CachingCalorieEstimator(p -> p.getPid() * 2.0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(4);
+
+        Thread writer = new Thread(() -> {
+            Random random = new Random(7L);
+            try {
+                while (running.get()) {
+                    for (int pid = 1; pid <= 2_000; pid++) {
+                        estimator.estimateCalories(product(pid));
+                    }
+                    if (random.nextBoolean()) {
+                        estimator.invalidateAll();
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done.countDown();
+            }
+        });
+        writer.start();
+        for (int r = 0; r < 3; r++) {
+            int seed = r;
+            new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    while (running.get()) {
+                        int pid = 1 + random.nextInt(2_000);
+                        double estimate = estimator.estimateCalories(product(pid));
+                        if (estimate != pid * 2.0) {
+                            throw new AssertionError("pid " + pid + " estimated " + estimate);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        Thread.sleep(1_000);
+        running.set(false);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+    }
+
+    private static Product product(int id) {
+        Product p = new Product();
+        p.setPid(id);
+        return p;
+    }
+
+    private static double gets(SimpleMeterRegistry registry, String result) {
+        return registry.get("cache.gets").tag("cache", "calorieEstimates").tag("result", result).functionCounter()
+                .count();
+    }
+}
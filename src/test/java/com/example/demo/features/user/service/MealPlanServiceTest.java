@@ -1,16 +1,31 @@
 package com.example.demo.features.user.service;
 
 import java.time.DayOfWeek;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import com.example.demo.features.product.model.Product;
 import com.example.demo.features.product.service.ProductServices;
 
@@ -119,6 +134,11 @@ class MealPlanServiceTest {
             public void reserve(Product product) {
                 
             }
+
+            @Override
+            public PantryInventory openScope() {
+                return this;
+            }
         };
 
         MealPlanService service = new MealPlanService(productServices, estimator, inventory);
@@ -126,6 +146,212 @@ class MealPlanServiceTest {
         assertThrows(IllegalStateException.class, () -> service.generateWeeklyPlan(1000, 2));
     }
 
+    @Test
+    void generateWeeklyPlan_matchesReferenceGreedySelection() {
+        Random random = new Random(20240611L);
+        for (int run = 0; run < 300; run++) {
+            int size = 1 + random.nextInt(run % 10 == 0 ? 3000 : 40);
+            List<Product> catalog = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Product p = product(random.nextInt(size + 3), "P" + i);
+                p.setPprice(random.nextInt(20));
+                p.setDefaultServingSize(random.nextInt(4));
+                p.setInitialStock(random.nextInt(8));
+                catalog.add(random.nextInt(50) == 0 ? null : p);
+            }
+            double dailyTarget = 100 + random.nextInt(3000);
+            int mealsPerDay = 1 + random.nextInt(4);
+
+            ProductServices productServices = mock(ProductServices.class);
+            when(productServices.getAllProducts()).thenReturn(catalog);
+            CalorieEstimator estimator = new NutritionBasedCalorieEstimator();
+            MealPlanService service = new MealPlanService(productServices, estimator, new SimplePantryInventory());
+
+            String expected = describe(() -> referencePlan(catalog, estimator, new SimplePantryInventory(),
+                    dailyTarget, mealsPerDay));
+            String actual = describe(() -> service.generateWeeklyPlan(dailyTarget, mealsPerDay).asMap());
+
+            assertEquals(expected, actual, "run " + run);
+        }
+    }
+
+    @Test
+    void generateWeeklyPlans_matchesIndividualPlansAndLeavesSharedPantryUntouched() {
+        Random random = new Random(7L);
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product p = product(i + 1, "P" + i);
+            p.setPprice(random.nextInt(20));
+            p.setDefaultServingSize(1 + random.nextInt(3));
+            p.setInitialStock(random.nextInt(12));
+            catalog.add(p);
+        }
+        List<MealPlanRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            requests.add(new MealPlanRequest(500 + 250 * random.nextInt(8), 1 + random.nextInt(3)));
+        }
+
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getAllProducts()).thenReturn(catalog);
+        AtomicInteger estimates = new AtomicInteger();
+        CalorieEstimator base = new NutritionBasedCalorieEstimator();
+        CalorieEstimator estimator = p -> {
+            estimates.incrementAndGet();
+            return base.estimateCalories(p);
+        };
+        SimplePantryInventory shared = new SimplePantryInventory();
+        MealPlanService service = new MealPlanService(productServices, estimator, shared);
+
+        List<MealPlanResult> plans = service.generateWeeklyPlans(requests);
+
+        assertEquals(requests.size(), plans.size());
+        assertEquals(catalog.size(), estimates.get());
+        verify(productServices, times(1)).getAllProducts();
+        for (int i = 0; i < requests.size(); i++) {
+            MealPlanRequest request = requests.get(i);
+            MealPlanService single = new MealPlanService(productServices, base, new SimplePantryInventory());
+            assertTrue(plans.get(i).isSuccessful(), "request " + i);
+            assertSame(request, plans.get(i).getRequest());
+            MealPlan plan = plans.get(i).getPlan();
+            assertEquals(describe(() -> single.generateWeeklyPlan(request.getDailyCalorieTarget(),
+                    request.getMealsPerDay()).asMap()), describe(plan::asMap), "request " + i);
+        }
+        SimplePantryInventory untouched = new SimplePantryInventory();
+        for (Product product : catalog) {
+            assertEquals(untouched.hasIngredients(product), shared.hasIngredients(product));
+        }
+    }
+
+    @Test
+    void generateWeeklyPlans_returnsEmptyListForNoRequests() {
+        ProductServices productServices = mock(ProductServices.class);
+        MealPlanService service = new MealPlanService(productServices, p -> 100.0, new AlwaysAvailableInventory());
+
+        assertTrue(service.generateWeeklyPlans(null).isEmpty());
+        assertTrue(service.generateWeeklyPlans(List.of()).isEmpty());
+        verify(productServices, times(0)).getAllProducts();
+    }
+
+    @Test
+    void generateWeeklyPlans_failsInvalidRequestsAloneAndSkipsCatalogWhenNoneAreValid() {
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getAllProducts()).thenReturn(catalogOf(8));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MealPlanService service = new MealPlanService(productServices, p -> 100.0, new AlwaysAvailableInventory(),
+                new MealPlanMetrics(registry));
+
+        List<MealPlanResult> invalidOnly = service.generateWeeklyPlans(
+                Arrays.asList(null, new MealPlanRequest(0, 2)));
+        verify(productServices, times(0)).getAllProducts();
+        assertEquals("Meal plan request is required", invalidOnly.get(0).getError());
+        assertEquals("Daily calorie target must be positive", invalidOnly.get(1).getError());
+
+        MealPlanRequest valid = new MealPlanRequest(400, 2);
+        List<MealPlanResult> mixed = service.generateWeeklyPlans(
+                Arrays.asList(new MealPlanRequest(1000, -1), valid, null));
+
+        assertFalse(mixed.get(0).isSuccessful());
+        assertEquals("Meals per day must be positive", mixed.get(0).getError());
+        assertTrue(mixed.get(1).isSuccessful());
+        assertSame(valid, mixed.get(1).getRequest());
+        assertEquals(2, mixed.get(1).getPlan().getMealsForDay(DayOfWeek.MONDAY).size());
+        assertNull(mixed.get(2).getRequest());
+        assertFalse(mixed.get(2).isSuccessful());
+        assertEquals(4.0, registry.get("mealplan.generation.failures").tag("mode", "batch").counter().count());
+    }
+
+    @Test
+    void generateWeeklyPlans_keepsOtherPlansWhenOneRequestCannotBeFilled() {
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getAllProducts()).thenReturn(catalogOf(8));
+        MealPlanService service = new MealPlanService(productServices, p -> 100.0, new LimitedInventory(14));
+
+        List<MealPlanResult> results = service.generateWeeklyPlans(
+                List.of(new MealPlanRequest(200, 2), new MealPlanRequest(300, 3)));
+
+        assertTrue(results.get(0).isSuccessful());
+        assertFalse(results.get(1).isSuccessful());
+        assertEquals("Unable to fulfill meal plan due to limited inventory", results.get(1).getError());
+    }
+
+    @Test
+    void generateWeeklyPlan_recordsGenerationTimeAndFailures() {
+        ProductServices productServices = mock(ProductServices.class);
+        when(productServices.getAllProducts())
+                .thenReturn(List.of(product(1, "P1"), product(2, "P2"), product(3, "P3")))
+                .thenReturn(List.of());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MealPlanService service = new MealPlanService(productServices, p -> 100.0, new AlwaysAvailableInventory(),
+                new MealPlanMetrics(registry));
+
+        service.generateWeeklyPlan(300, 1);
+        assertThrows(IllegalStateException.class, () -> service.generateWeeklyPlan(300, 1));
+        service.generateWeeklyPlans(List.of());
+
+        assertEquals(2, registry.get("mealplan.generation.duration").tag("mode", "single").timer().count());
+        assertEquals(1.0, registry.get("mealplan.generation.failures").tag("mode", "single").counter().count());
+        assertEquals(0, registry.get("mealplan.generation.duration").tag("mode", "batch").timer().count());
+    }
+
+    private static String describe(Supplier<Map<DayOfWeek, List<MealEntry>>> plan) {
+        try {
+            StringBuilder out = new StringBuilder();
+            plan.get().forEach((day, meals) -> {
+                out.append(day);
+                meals.forEach(m -> out.append(' ').append(m.getProductId()).append(m.getProductName())
+                        .append('=').append(m.getCalories()));
+            });
+            return out.toString();
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    // The original sequential greedy selection, kept as the oracle for the pruned implementation.
+    private static Map<DayOfWeek, List<MealEntry>> referencePlan(List<Product> products, CalorieEstimator estimator,
+            PantryInventory inventory, double dailyTarget, int mealsPerDay) {
+        double targetPerMeal = dailyTarget / mealsPerDay;
+        List<Product> sorted = new ArrayList<>();
+        Map<Product, Double> calories = new HashMap<>();
+        for (Product product : products) {
+            if (product != null) {
+                sorted.add(product);
+                calories.put(product, estimator.estimateCalories(product));
+            }
+        }
+        sorted.sort(Comparator.comparingDouble(p -> Math.abs(targetPerMeal - calories.get(p))));
+
+        Map<DayOfWeek, List<MealEntry>> plan = new EnumMap<>(DayOfWeek.class);
+        Map<Integer, Integer> usage = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            List<MealEntry> meals = new ArrayList<>();
+            for (Product product : sorted) {
+                if (!inventory.hasIngredients(product) || usage.getOrDefault(product.getPid(), 0) >= 3) {
+                    continue;
+                }
+                inventory.reserve(product);
+                meals.add(new MealEntry(product.getPid(), product.getPname(), calories.get(product)));
+                usage.merge(product.getPid(), 1, Integer::sum);
+                if (meals.size() == mealsPerDay) {
+                    break;
+                }
+            }
+            if (meals.size() < mealsPerDay) {
+                throw new IllegalStateException("Unable to fulfill meal plan due to limited inventory");
+            }
+            plan.put(day, meals);
+        }
+        return plan;
+    }
+
+    private static List<Product> catalogOf(int size) {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            catalog.add(product(i, "P" + i));
+        }
+        return catalog;
+    }
+
     private static Product product(int id, String name) {
         Product p = new Product();
         p.setPid(id);
@@ -144,6 +370,37 @@ class MealPlanServiceTest {
         public void reserve(Product product) {
             
         }
+
+        @Override
+        public PantryInventory openScope() {
+            return this;
+        }
+    }
+
+    // Allows a fixed number of reservations per scope, whatever the product.
+    private static final class LimitedInventory implements PantryInventory {
+
+        private final int limit;
+        private int reserved;
+
+        LimitedInventory(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasIngredients(Product product) {
+            return product != null && reserved < limit;
+        }
+
+        @Override
+        public void reserve(Product product) {
+            reserved++;
+        }
+
+        @Override
+        public PantryInventory openScope() {
+            return new LimitedInventory(limit);
+        }
     }
 
     private static final class CountingInventory implements PantryInventory {
@@ -159,5 +416,10 @@ class MealPlanServiceTest {
         public void reserve(Product product) {
             reserveCalls++;
         }
+
+        @Override
+        public PantryInventory openScope() {
+            return this;
+        }
     }
 }
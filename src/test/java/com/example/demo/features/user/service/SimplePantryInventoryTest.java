@@ -50,6 +50,23 @@ class SimplePantryInventoryTest {
         assertFalse(inventory.hasIngredients(p));
     }
 
+    @Test
+    void openScope_startsFromCurrentStockAndKeepsReservationsPrivate() {
+        SimplePantryInventory inventory = new SimplePantryInventory();
+        Product p = product(12, "Rice", 2, 6);
+        inventory.reserve(p);
+
+        PantryInventory scope = inventory.openScope();
+        scope.reserve(p);
+        assertTrue(scope.hasIngredients(p));
+        scope.reserve(p);
+        assertFalse(scope.hasIngredients(p));
+
+        assertTrue(inventory.hasIngredients(p));
+        inventory.reserve(p);
+        assertTrue(inventory.hasIngredients(p));
+    }
+
     private static Product product(int id, String name, int defaultServingSize, int initialStock) {
         Product p = new Product();
         p.setPid(id);
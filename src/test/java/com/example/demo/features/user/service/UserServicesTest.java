@@ -0,0 +1,168 @@
+package com.example.demo.features.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.demo.core.security.PasswordHasher;
+import com.example.demo.core.security.PasswordHasherBusyException;
+import com.example.demo.features.user.model.User;
+import com.example.demo.features.user.repository.UserCredentials;
+import com.example.demo.features.user.repository.UserRepository;
+
+class UserServicesTest {
+
+    private UserServices userServices;
+    private UserRepository userRepository;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void mockServices() {
+        userRepository = mock(UserRepository.class);
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 8, 5000);
+        userServices = new UserServices();
+        ReflectionTestUtils.setField(userServices, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userServices, "passwordHasher", passwordHasher);
+    }
+
+    @AfterEach
+    void shutDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void validateLoginCredentials_looksUpSingleUserByEmail() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", "1234"));
+
+        assertTrue(userServices.validateLoginCredentials("user@example.com", "1234"));
+        verify(userRepository).findCredentialsByUemail("user@example.com");
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void validateLoginCredentials_returnsFalse_whenPasswordDoesNotMatch() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", "1234"));
+
+        assertFalse(userServices.validateLoginCredentials("user@example.com", "wrong"));
+    }
+
+    @Test
+    void validateLoginCredentials_returnsFalse_whenUserUnknown() {
+        assertFalse(userServices.validateLoginCredentials("nobody@example.com", "1234"));
+    }
+
+    @Test
+    void validateLoginCredentials_returnsFalse_whenEmailOrPasswordMissing() {
+        assertFalse(userServices.validateLoginCredentials(null, "1234"));
+        assertFalse(userServices.validateLoginCredentials("user@example.com", null));
+        verify(userRepository, never()).findCredentialsByUemail(anyString());
+    }
+
+    @Test
+    void validateLoginCredentials_returnsFalse_whenStoredPasswordMissing() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", null));
+
+        assertFalse(userServices.validateLoginCredentials("user@example.com", "1234"));
+    }
+
+    @Test
+    void validateLoginCredentials_acceptsHashedPasswordWithoutRehashing() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", passwordHasher.hash("1234")));
+
+        assertTrue(userServices.validateLoginCredentials("user@example.com", "1234"));
+        assertFalse(userServices.validateLoginCredentials("user@example.com", "12345"));
+        verify(userRepository, never()).updatePassword(anyInt(), anyString());
+    }
+
+    @Test
+    void validateLoginCredentials_upgradesPlaintextRowOnSuccessfulLogin() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", "1234"));
+
+        assertTrue(userServices.validateLoginCredentials("user@example.com", "1234"));
+        verify(userRepository).updatePassword(eq(1), argThat(hash -> passwordHasher.isHashed(hash)
+                && passwordHasher.verify("1234", hash) == PasswordHasher.Verification.MATCH));
+    }
+
+    @Test
+    void validateLoginCredentials_skipsUpgradeWhenHasherIsBusy() {
+        PasswordHasher busy = spy(passwordHasher);
+        doThrow(new PasswordHasherBusyException("Too many concurrent password checks", null))
+                .when(busy).hash(anyString());
+        ReflectionTestUtils.setField(userServices, "passwordHasher", busy);
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", "1234"));
+
+        assertTrue(userServices.validateLoginCredentials("user@example.com", "1234"));
+        verify(userRepository, never()).updatePassword(anyInt(), anyString());
+    }
+
+    @Test
+    void validateLoginCredentials_doesNotUpgradeOnFailedLogin() {
+        when(userRepository.findCredentialsByUemail("user@example.com"))
+                .thenReturn(credentials("user@example.com", "1234"));
+
+        assertFalse(userServices.validateLoginCredentials("user@example.com", "wrong"));
+        verify(userRepository, never()).updatePassword(anyInt(), anyString());
+    }
+
+    @Test
+    void addUser_storesHashInsteadOfPlaintext() {
+        User user = new User("new@example.com", "secret");
+
+        userServices.addUser(user);
+
+        assertTrue(passwordHasher.isHashed(user.getUpassword()));
+        assertEquals(PasswordHasher.Verification.MATCH, passwordHasher.verify("secret", user.getUpassword()));
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void updateUser_keepsAlreadyHashedPassword() {
+        String hash = passwordHasher.hash("secret");
+        User user = new User("new@example.com", hash);
+
+        userServices.updateUser(user, 3);
+
+        assertEquals(hash, user.getUpassword());
+    }
+
+    private static UserCredentials credentials(String email, String password) {
+        return new UserCredentials() {
+            @Override
+            public int getId() {
+                return 1;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getPassword() {
+                return password;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.features.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.features.order.dto.OrderHistoryPage;
+import com.example.demo.features.user.model.User;
+
+class UserSessionTest {
+
+    private UserSession session;
+    private AtomicInteger loads;
+    private Supplier<OrderHistoryPage> loader;
+
+    @BeforeEach
+    void setUp() {
+        session = new UserSession();
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return new OrderHistoryPage(List.of(), null);
+        };
+    }
+
+    @Test
+    void signIn_exposesUserAndName() {
+        assertFalse(session.isSignedIn());
+        assertNull(session.getName());
+
+        User user = new User("ana@example.com", "secret");
+        user.setUname("Ana");
+        session.signIn(user);
+
+        assertTrue(session.isSignedIn());
+        assertSame(user, session.getUser());
+        assertEquals("Ana", session.getName());
+    }
+
+    @Test
+    void getRecentOrders_loadsOncePerSession() {
+        session.signIn(new User("ana@example.com", "secret"));
+
+        OrderHistoryPage first = session.getRecentOrders(loader);
+        OrderHistoryPage second = session.getRecentOrders(loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getRecentOrders_reloadsAfterOrdersChangeOrNewSignIn() {
+        session.signIn(new User("ana@example.com", "secret"));
+        session.getRecentOrders(loader);
+
+        session.ordersChanged();
+        session.getRecentOrders(loader);
+        session.signIn(new User("ben@example.com", "secret"));
+        session.getRecentOrders(loader);
+
+        assertEquals(3, loads.get());
+    }
+}